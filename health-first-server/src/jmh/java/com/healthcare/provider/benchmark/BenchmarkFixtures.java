@@ -0,0 +1,63 @@
+package com.healthcare.provider.benchmark;
+
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.ProviderAvailability;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Detached entities for the JMH benchmarks; nothing here touches a database.
+ */
+public final class BenchmarkFixtures {
+    public static final LocalDate START = LocalDate.of(2026, 1, 5);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Provider provider() {
+        return Provider.builder()
+                .id(UUID.randomUUID())
+                .firstName("Bench")
+                .lastName("Provider")
+                .email("bench.provider@example.com")
+                .phoneNumber("+15550100")
+                .specialization("Cardiology")
+                .licenseNumber("BENCH001")
+                .yearsOfExperience(10)
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build();
+    }
+
+    /** A 09:00-17:00 rule with 30 minute slots and 5 minute breaks, recurring for {@code days} days. */
+    public static ProviderAvailability availability(String pattern, String timezone, int days) {
+        ProviderAvailability.Location location = new ProviderAvailability.Location();
+        location.setType(ProviderAvailability.Location.LocationType.CLINIC);
+        location.setAddress("1 Bench Street");
+        ProviderAvailability.Pricing pricing = new ProviderAvailability.Pricing();
+        pricing.setBaseFee(new BigDecimal("150.00"));
+        pricing.setInsuranceAccepted(true);
+        pricing.setCurrency("USD");
+        return ProviderAvailability.builder()
+                .id(UUID.randomUUID())
+                .provider(provider())
+                .date(START)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .timezone(timezone)
+                .isRecurring(true)
+                .recurrencePattern(ProviderAvailability.RecurrencePattern.valueOf(pattern))
+                .recurrenceEndDate(START.plusDays(days - 1))
+                .slotDuration(30)
+                .breakDuration(5)
+                .appointmentType(ProviderAvailability.AppointmentType.CONSULTATION)
+                .location(location)
+                .pricing(pricing)
+                .specialRequirements(List.of("bring_insurance_card"))
+                .build();
+    }
+}
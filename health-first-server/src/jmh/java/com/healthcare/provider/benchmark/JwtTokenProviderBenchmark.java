@@ -0,0 +1,43 @@
+package com.healthcare.provider.benchmark;
+
+import com.healthcare.provider.security.JwtTokenProvider;
+import com.healthcare.provider.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token checks done by the authentication filter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "benchmarkSecretKey1234567890123456789012");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiryMs", 3_600_000L);
+        ReflectionTestUtils.setField(tokenProvider, "claimsCacheMaxSize", 10_000L);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+        token = tokenProvider.generateToken(BenchmarkFixtures.provider());
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return tokenProvider.verify(token).orElseThrow();
+    }
+}
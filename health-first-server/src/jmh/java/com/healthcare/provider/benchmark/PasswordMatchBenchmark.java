@@ -0,0 +1,31 @@
+package com.healthcare.provider.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt cost 12 {@code matches}, as done on every login. Each call is in the hundreds of
+ * milliseconds, so iterations are few and long.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordMatchBenchmark {
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(12);
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        hash = encoder.encode("Benchmark#Password1");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("Benchmark#Password1", hash);
+    }
+}
@@ -0,0 +1,44 @@
+package com.healthcare.provider.benchmark;
+
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.scheduling.SlotGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expansion of a one-year rule into slots, per recurrence pattern and timezone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlotGenerationBenchmark {
+    @Param({"DAILY", "WEEKLY", "MONTHLY"})
+    private String pattern;
+
+    @Param({"UTC", "America/New_York", "Asia/Kolkata"})
+    private String timezone;
+
+    private final SlotGenerator slotGenerator = new SlotGenerator();
+    private ProviderAvailability availability;
+
+    @Setup
+    public void setUp() {
+        availability = BenchmarkFixtures.availability(pattern, timezone, 365);
+    }
+
+    @Benchmark
+    public List<AppointmentSlot> generate() {
+        return slotGenerator.generate(availability);
+    }
+
+    @Benchmark
+    public List<SlotGenerator.Occurrence> occurrences() {
+        return slotGenerator.occurrences(availability);
+    }
+}
@@ -0,0 +1,59 @@
+package com.healthcare.provider.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.healthcare.provider.benchmark.BenchmarkFixtures;
+import com.healthcare.provider.dto.ProviderAvailabilityResponse;
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.scheduling.SlotGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping and its JSON serialization, for a single day up to a year of daily slots.
+ * Lives in the service package to reach the package-private mapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityMappingBenchmark {
+    @Param({"1", "30", "365"})
+    private int days;
+
+    private ProviderAvailabilityServiceImpl service;
+    private ObjectMapper objectMapper;
+    private ProviderAvailability availability;
+    private List<AppointmentSlot> slots;
+    private ProviderAvailabilityResponse response;
+
+    @Setup
+    public void setUp() {
+        SlotGenerator slotGenerator = new SlotGenerator();
+        service = new ProviderAvailabilityServiceImpl(null, null, null, null, slotGenerator, null, null, null);
+        objectMapper = new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        availability = BenchmarkFixtures.availability("DAILY", "America/New_York", days);
+        slots = slotGenerator.generate(availability);
+        response = service.mapToResponse(availability, slots);
+    }
+
+    @Benchmark
+    public ProviderAvailabilityResponse map() {
+        return service.mapToResponse(availability, slots);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(service.mapToResponse(availability, slots));
+    }
+}
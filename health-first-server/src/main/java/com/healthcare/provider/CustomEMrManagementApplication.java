@@ -2,8 +2,10 @@ package com.healthcare.provider;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CustomEMrManagementApplication {
     public static void main(String[] args) {
         SpringApplication.run(CustomEMrManagementApplication.class, args);
@@ -0,0 +1,46 @@
+package com.healthcare.provider.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hit ratios for the second-level cache regions and the query cache. The raw hit/miss/put counters
+ * come from Hibernate's own metrics binder; these gauges save dashboards from dividing them. Both
+ * need Hibernate statistics, which are only collected with metrics.hibernate-statistics.enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "metrics.hibernate-statistics.enabled", havingValue = "true")
+public class CacheConfig {
+
+    @Bean
+    public MeterBinder secondLevelCacheHitRatios(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (String region : statistics.getSecondLevelCacheRegionNames()) {
+                // Looked up on every read: clearing the statistics replaces the per-region objects
+                Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, s -> {
+                            CacheRegionStatistics regionStatistics = s.getCacheRegionStatistics(region);
+                            return regionStatistics == null ? 0
+                                    : ratio(regionStatistics.getHitCount(), regionStatistics.getMissCount());
+                        })
+                        .tag("region", region)
+                        .register(registry);
+            }
+            Gauge.builder("hibernate.cache.query.hit.ratio", statistics,
+                            s -> ratio(s.getQueryCacheHitCount(), s.getQueryCacheMissCount()))
+                    .register(registry);
+        };
+    }
+
+    private static double ratio(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -1,8 +1,72 @@
 package com.healthcare.provider.config;
 
+import com.healthcare.provider.datasource.ReadWriteRoutingDataSource;
+import com.healthcare.provider.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * With database.replica.enabled, read-only transactions are served from a replica pool and
+ * everything else from the primary pool (spring.datasource.*). Otherwise the single auto-configured
+ * datasource is used as before.
+ */
 @Configuration
+@ConditionalOnProperty(name = "database.replica.enabled", havingValue = "true")
 public class DatabaseConfig {
-    // Custom database configuration can be added here if needed
-} 
\ No newline at end of file
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("database.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${database.replica.url}") String url,
+            @Value("${database.replica.username:}") String username,
+            @Value("${database.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${database.replica.lag-query:}") String lagQuery,
+            @Value("${database.replica.max-lag:5s}") Duration maxLag,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            MeterRegistry meterRegistry) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry);
+        routing.afterPropertiesSet();
+        // Defers the physical connection until the first statement, after the read-only flag is set
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
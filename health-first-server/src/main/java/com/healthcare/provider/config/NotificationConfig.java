@@ -0,0 +1,25 @@
+package com.healthcare.provider.config;
+
+import com.healthcare.provider.notification.EmailSender;
+import com.healthcare.provider.notification.FileEmailSender;
+import com.healthcare.provider.notification.InMemoryEmailSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class NotificationConfig {
+
+    @Bean
+    public EmailSender emailSender(
+            @Value("${notification.email.sender:file}") String sender,
+            @Value("${notification.email.directory:target/mail}") String directory) {
+        return switch (sender) {
+            case "file" -> new FileEmailSender(Path.of(directory));
+            case "memory" -> new InMemoryEmailSender();
+            default -> throw new IllegalArgumentException("Unknown notification.email.sender: " + sender);
+        };
+    }
+}
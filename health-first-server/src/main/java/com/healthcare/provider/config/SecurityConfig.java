@@ -1,18 +1,24 @@
 package com.healthcare.provider.config;
 
+import com.healthcare.provider.security.AdaptiveBCryptPasswordEncoder;
+import com.healthcare.provider.security.BoundedPasswordEncoder;
 import com.healthcare.provider.security.JwtAuthenticationFilter;
+import com.healthcare.provider.security.PasswordHashingExecutor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -31,8 +37,12 @@ public class SecurityConfig {
                 .requestMatchers(new AntPathRequestMatcher("/swagger-resources/**")).permitAll()
                 .requestMatchers(new AntPathRequestMatcher("/webjars/**")).permitAll()
                 .requestMatchers(new AntPathRequestMatcher("/h2-console/**")).permitAll()
-                .requestMatchers(new AntPathRequestMatcher("/api/v1/patient/register")).authenticated()
+                .requestMatchers(new AntPathRequestMatcher("/api/v1/provider/**")).hasRole("PROVIDER")
+                .requestMatchers(new AntPathRequestMatcher("/api/v1/patient/register")).hasRole("PROVIDER")
+                .requestMatchers(new AntPathRequestMatcher("/api/v1/slots/*/book")).hasRole("PATIENT")
                 .requestMatchers(new AntPathRequestMatcher("/api/v1/patient/login")).permitAll()
+                .requestMatchers(new AntPathRequestMatcher("/api/v1/auth/refresh")).permitAll()
+                .requestMatchers(new AntPathRequestMatcher("/api/v1/auth/logout")).permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
@@ -42,7 +52,21 @@ public class SecurityConfig {
     }
 
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public AdaptiveBCryptPasswordEncoder bCryptPasswordEncoder(
+            @Value("${security.password-hashing.strength:12}") int strength,
+            @Value("${security.password-hashing.calibration.target:250ms}") Duration target,
+            @Value("${security.password-hashing.calibration.min-strength:10}") int minStrength,
+            @Value("${security.password-hashing.calibration.max-strength:14}") int maxStrength) {
+        // Strength 0 measures this machine on start instead of using a pinned cost
+        return strength == 0
+                ? AdaptiveBCryptPasswordEncoder.calibrated(target, minStrength, maxStrength)
+                : new AdaptiveBCryptPasswordEncoder(strength);
+    }
+
+    @Bean
+    @Primary
+    public PasswordEncoder passwordEncoder(AdaptiveBCryptPasswordEncoder bCryptPasswordEncoder, PasswordHashingExecutor passwordHashingExecutor) {
+        // Hashing runs on its own bounded pool rather than on request threads
+        return new BoundedPasswordEncoder(bCryptPasswordEncoder, passwordHashingExecutor);
     }
 } 
\ No newline at end of file
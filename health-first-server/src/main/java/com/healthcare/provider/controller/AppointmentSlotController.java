@@ -0,0 +1,30 @@
+package com.healthcare.provider.controller;
+
+import com.healthcare.provider.dto.SlotBookingRequest;
+import com.healthcare.provider.dto.SlotBookingResponse;
+import com.healthcare.provider.security.ClaimsPrincipal;
+import com.healthcare.provider.service.AppointmentSlotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/slots")
+@RequiredArgsConstructor
+@Tag(name = "Appointment Slots", description = "Book appointment slots")
+public class AppointmentSlotController {
+    private final AppointmentSlotService slotService;
+
+    @PostMapping("/{slotId}/book")
+    @Operation(summary = "Book an open slot for the authenticated patient; 409 if someone else got it first")
+    public ResponseEntity<SlotBookingResponse> book(@PathVariable UUID slotId, @Valid @RequestBody(required = false) SlotBookingRequest request, Authentication authentication) {
+        SlotBookingRequest booking = request != null ? request : new SlotBookingRequest();
+        return ResponseEntity.ok(slotService.bookSlot(slotId, ClaimsPrincipal.accountId(authentication), booking));
+    }
+}
@@ -0,0 +1,32 @@
+package com.healthcare.provider.controller;
+
+import com.healthcare.provider.dto.TokenRefreshRequest;
+import com.healthcare.provider.service.TokenRefreshService;
+import com.healthcare.provider.service.dto.TokenRefreshResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class AuthController {
+    private final TokenRefreshService tokenRefreshService;
+
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenRefreshResponse> refresh(@Valid @RequestBody TokenRefreshRequest request) {
+        TokenRefreshResponse response = tokenRefreshService.refresh(request);
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.status(401).body(response);
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody TokenRefreshRequest request) {
+        tokenRefreshService.revoke(request);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.healthcare.provider.controller;
+
+import com.healthcare.provider.dto.AvailabilitySearchRequest;
+import com.healthcare.provider.dto.AvailabilitySearchResponse;
+import com.healthcare.provider.service.AvailabilitySearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/availability")
+@RequiredArgsConstructor
+@Tag(name = "Availability Search", description = "Search open slots across providers")
+public class AvailabilitySearchController {
+    private final AvailabilitySearchService searchService;
+
+    @GetMapping("/search")
+    @Operation(summary = "Search available slots")
+    public ResponseEntity<AvailabilitySearchResponse> search(@ModelAttribute AvailabilitySearchRequest request) {
+        return ResponseEntity.ok(searchService.search(request));
+    }
+}
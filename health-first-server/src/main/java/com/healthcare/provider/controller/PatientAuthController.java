@@ -1,8 +1,10 @@
 package com.healthcare.provider.controller;
 
 import com.healthcare.provider.dto.PatientLoginRequest;
+import com.healthcare.provider.security.LoginThrottle;
 import com.healthcare.provider.service.PatientAuthService;
 import com.healthcare.provider.service.dto.PatientLoginResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -13,9 +15,11 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class PatientAuthController {
     private final PatientAuthService patientAuthService;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/login")
-    public ResponseEntity<PatientLoginResponse> login(@Valid @RequestBody PatientLoginRequest request) {
+    public ResponseEntity<PatientLoginResponse> login(@Valid @RequestBody PatientLoginRequest request, HttpServletRequest httpRequest) {
+        loginThrottle.check(request.getEmail(), httpRequest.getRemoteAddr());
         PatientLoginResponse response = patientAuthService.login(request);
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
@@ -1,15 +1,27 @@
 package com.healthcare.provider.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.healthcare.provider.dto.AvailabilityDeleteResponse;
+import com.healthcare.provider.dto.FreeWindowsResponse;
 import com.healthcare.provider.dto.ProviderAvailabilityRequest;
 import com.healthcare.provider.dto.ProviderAvailabilityResponse;
+import com.healthcare.provider.security.ClaimsPrincipal;
 import com.healthcare.provider.service.ProviderAvailabilityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -20,35 +32,70 @@ import java.util.UUID;
 @Tag(name = "Provider Availability", description = "Manage provider availability and slots")
 public class ProviderAvailabilityController {
     private final ProviderAvailabilityService availabilityService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Create provider availability")
-    public ResponseEntity<ProviderAvailabilityResponse> create(@RequestParam UUID providerId, @Valid @RequestBody ProviderAvailabilityRequest request) {
+    public ResponseEntity<ProviderAvailabilityResponse> create(@RequestParam UUID providerId, @Valid @RequestBody ProviderAvailabilityRequest request, Authentication authentication) {
+        requireOwner(providerId, authentication);
         return ResponseEntity.ok(availabilityService.createAvailability(providerId, request));
     }
 
     @PutMapping("/{availabilityId}")
     @Operation(summary = "Update provider availability")
-    public ResponseEntity<ProviderAvailabilityResponse> update(@RequestParam UUID providerId, @PathVariable UUID availabilityId, @Valid @RequestBody ProviderAvailabilityRequest request) {
+    public ResponseEntity<ProviderAvailabilityResponse> update(@RequestParam UUID providerId, @PathVariable UUID availabilityId, @Valid @RequestBody ProviderAvailabilityRequest request, Authentication authentication) {
+        requireOwner(providerId, authentication);
         return ResponseEntity.ok(availabilityService.updateAvailability(providerId, availabilityId, request));
     }
 
     @DeleteMapping("/{availabilityId}")
     @Operation(summary = "Delete provider availability")
-    public ResponseEntity<Void> delete(@RequestParam UUID providerId, @PathVariable UUID availabilityId, @RequestParam(defaultValue = "false") boolean deleteRecurring, @RequestParam(required = false) String reason) {
-        availabilityService.deleteAvailability(providerId, availabilityId, deleteRecurring, reason);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<AvailabilityDeleteResponse> delete(@RequestParam UUID providerId, @PathVariable UUID availabilityId, @RequestParam(defaultValue = "false") boolean deleteRecurring, @RequestParam(required = false) String reason, Authentication authentication) {
+        requireOwner(providerId, authentication);
+        return ResponseEntity.ok(availabilityService.deleteAvailability(providerId, availabilityId, deleteRecurring, reason));
     }
 
     @GetMapping("/{availabilityId}")
     @Operation(summary = "Get provider availability by ID")
-    public ResponseEntity<ProviderAvailabilityResponse> get(@RequestParam UUID providerId, @PathVariable UUID availabilityId) {
+    public ResponseEntity<ProviderAvailabilityResponse> get(@RequestParam UUID providerId, @PathVariable UUID availabilityId, Authentication authentication) {
+        requireOwner(providerId, authentication);
         return ResponseEntity.ok(availabilityService.getAvailability(providerId, availabilityId));
     }
 
     @GetMapping
     @Operation(summary = "Get provider availabilities in date range")
-    public ResponseEntity<List<ProviderAvailabilityResponse>> getAll(@RequestParam UUID providerId, @RequestParam LocalDate startDate, @RequestParam LocalDate endDate, @RequestParam(required = false) String status, @RequestParam(required = false) String appointmentType, @RequestParam(required = false) String timezone) {
+    public ResponseEntity<List<ProviderAvailabilityResponse>> getAll(@RequestParam UUID providerId, @RequestParam LocalDate startDate, @RequestParam LocalDate endDate, @RequestParam(required = false) String status, @RequestParam(required = false) String appointmentType, @RequestParam(required = false) String timezone, Authentication authentication) {
+        requireOwner(providerId, authentication);
         return ResponseEntity.ok(availabilityService.getAvailabilities(providerId, startDate, endDate, status, appointmentType, timezone));
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/free-windows")
+    @Operation(summary = "Get free windows of a given length for a provider on a date")
+    public ResponseEntity<FreeWindowsResponse> freeWindows(@RequestParam UUID providerId, @RequestParam LocalDate date, @RequestParam(defaultValue = "30") int duration, @RequestParam(required = false) String timezone, Authentication authentication) {
+        requireOwner(providerId, authentication);
+        return ResponseEntity.ok(availabilityService.getFreeWindows(providerId, date, duration, timezone));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream provider availabilities in date range as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam UUID providerId, @RequestParam LocalDate startDate, @RequestParam LocalDate endDate, @RequestParam(required = false) String status, Authentication authentication) {
+        requireOwner(providerId, authentication);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        StreamingResponseBody body = out -> availabilityService.streamAvailabilities(providerId, startDate, endDate, status, availability -> {
+            try {
+                out.write(writer.writeValueAsBytes(availability));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Providers manage and read only their own schedule
+    private static void requireOwner(UUID providerId, Authentication authentication) {
+        if (!providerId.equals(ClaimsPrincipal.accountId(authentication))) {
+            throw new AccessDeniedException("Not the provider's own availability");
+        }
+    }
+}
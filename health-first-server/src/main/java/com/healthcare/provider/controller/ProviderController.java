@@ -5,11 +5,13 @@ import com.healthcare.provider.dto.ProviderLoginRequest;
 import com.healthcare.provider.service.dto.ProviderLoginResponse;
 import com.healthcare.provider.service.ProviderService;
 import com.healthcare.provider.service.dto.ProviderRegistrationResponse;
+import com.healthcare.provider.security.LoginThrottle;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,6 +21,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ProviderController {
     private final ProviderService providerService;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/register")
     public ResponseEntity<?> registerProvider(@Valid @RequestBody ProviderCreateRequest request) {
@@ -31,7 +34,8 @@ public class ProviderController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> loginProvider(@Valid @RequestBody ProviderLoginRequest request) {
+    public ResponseEntity<?> loginProvider(@Valid @RequestBody ProviderLoginRequest request, HttpServletRequest httpRequest) {
+        loginThrottle.check(request.getEmail(), httpRequest.getRemoteAddr());
         ProviderLoginResponse response = providerService.loginProvider(request);
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
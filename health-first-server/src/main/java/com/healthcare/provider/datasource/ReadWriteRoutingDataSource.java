@@ -0,0 +1,73 @@
+package com.healthcare.provider.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Hands out replica connections inside read-only transactions while the replica is within its lag
+ * tolerance, and primary connections otherwise. The route is decided when a connection is
+ * obtained, so this must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only
+ * flag is only visible once the transaction has begun.
+ * <p>
+ * Work that must not see a lagging replica can pin the route with {@link #onPrimary}; that only
+ * takes effect while the surrounding transaction has not obtained its connection yet, which
+ * {@link #currentRoute} tells.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    private static final Object ROUTE_RESOURCE = ReadWriteRoutingDataSource.class.getName() + ".route";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        primaryConnections = Counter.builder("database.routing.connections").tag("route", "primary").register(meterRegistry);
+        replicaConnections = Counter.builder("database.routing.connections").tag("route", "replica").register(meterRegistry);
+    }
+
+    /** Runs the work with any connection it obtains routed to the primary, even in a read-only transaction. */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PINNED_TO_PRIMARY.get();
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) PINNED_TO_PRIMARY.remove();
+        }
+    }
+
+    /** Route of the connection the current transaction obtained, or null before it has one or without routing. */
+    public static Route currentRoute() {
+        return (Route) TransactionSynchronizationManager.getResource(ROUTE_RESOURCE);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route = TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PINNED_TO_PRIMARY.get() == null
+                && lagMonitor.isReplicaUsable() ? Route.REPLICA : Route.PRIMARY;
+        (route == Route.REPLICA ? replicaConnections : primaryConnections).increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(ROUTE_RESOURCE)) {
+            TransactionSynchronizationManager.bindResource(ROUTE_RESOURCE, route);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ROUTE_RESOURCE);
+                }
+            });
+        }
+        return route;
+    }
+}
@@ -0,0 +1,65 @@
+package com.healthcare.provider.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Polls the replica and marks it unusable while it is unreachable or further behind the primary
+ * than the configured tolerance; read-only work then goes to the primary until it catches up.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile boolean usable = true;
+    private volatile double lagSeconds;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        Gauge.builder("database.replica.lag", this, m -> m.lagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("database.replica.usable", this, m -> m.usable ? 1 : 0)
+                .register(meterRegistry);
+        // Startup reads must not reach the replica before it has been checked once
+        check();
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    @Scheduled(fixedDelayString = "${database.replica.lag-check-interval:PT5S}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            // Without a lag query only reachability is checked
+            if (lagQuery == null || lagQuery.isBlank()) {
+                replica.queryForObject("select 1", Integer.class);
+                lagSeconds = 0;
+            } else {
+                Number lag = replica.queryForObject(lagQuery, Number.class);
+                lagSeconds = lag == null ? 0 : lag.doubleValue();
+            }
+            usable = lagSeconds * 1000 <= maxLag.toMillis();
+        } catch (DataAccessException e) {
+            usable = false;
+            log.debug("Replica lag check failed", e);
+        }
+        if (usable != wasUsable) {
+            log.warn(usable ? "Replica back within lag tolerance ({}s), routing reads to it again"
+                    : "Replica unavailable or lagging ({}s), routing reads to the primary", lagSeconds);
+        }
+    }
+}
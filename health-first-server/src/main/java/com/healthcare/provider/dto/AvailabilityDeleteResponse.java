@@ -0,0 +1,14 @@
+package com.healthcare.provider.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityDeleteResponse {
+    private int deletedAvailabilities;
+    private int deletedSlots;
+    private String reason;
+}
@@ -0,0 +1,26 @@
+package com.healthcare.provider.dto;
+
+import lombok.*;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FreeWindowsResponse {
+    private UUID providerId;
+    private LocalDate date;
+    private String timezone;
+    private int durationMinutes;
+    private List<Window> windows;
+    private Window longestGap;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class Window {
+        private String startTime;
+        private String endTime;
+    }
+}
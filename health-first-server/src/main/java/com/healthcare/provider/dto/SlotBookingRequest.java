@@ -0,0 +1,16 @@
+package com.healthcare.provider.dto;
+
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+// The patient is always the authenticated caller, never taken from the body
+public class SlotBookingRequest {
+    // Needed in virtual slot mode, where open slots have no row yet and are rebuilt from their availability
+    private UUID availabilityId;
+}
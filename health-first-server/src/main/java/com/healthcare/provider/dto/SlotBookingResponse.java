@@ -0,0 +1,22 @@
+package com.healthcare.provider.dto;
+
+import lombok.*;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlotBookingResponse {
+    private UUID slotId;
+    private UUID availabilityId;
+    private UUID providerId;
+    private UUID patientId;
+    private ZonedDateTime slotStartTime;
+    private ZonedDateTime slotEndTime;
+    private String status;
+    private String bookingReference;
+}
@@ -0,0 +1,12 @@
+package com.healthcare.provider.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TokenRefreshRequest {
+    @NotBlank
+    private String refreshToken;
+}
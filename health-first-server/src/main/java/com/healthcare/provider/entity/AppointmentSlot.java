@@ -1,16 +1,20 @@
 package com.healthcare.provider.entity;
 
+import com.healthcare.provider.id.SlotStartId;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.ZonedDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "appointment_slot")
+@Table(name = "appointment_slot", indexes = {
+        @Index(name = "idx_appointment_slot_provider_start", columnList = "provider_id, slotStartTime"),
+        @Index(name = "idx_appointment_slot_availability", columnList = "availability_id"),
+        @Index(name = "idx_appointment_slot_provider_status_start", columnList = "provider_id, status, slotStartTime")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,8 +22,7 @@ import java.util.UUID;
 @Builder
 public class AppointmentSlot {
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @SlotStartId
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -40,11 +43,13 @@ public class AppointmentSlot {
     @Column(nullable = false)
     private ZonedDateTime slotEndTime;
 
+    @Builder.Default
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private SlotStatus status = SlotStatus.AVAILABLE;
 
-    @Column(nullable = false, unique = true)
+    // Null until the slot is booked
+    @Column(unique = true)
     private String bookingReference;
 
     @Column(nullable = false)
@@ -0,0 +1,44 @@
+package com.healthcare.provider.entity;
+
+import com.healthcare.provider.id.UuidV7Id;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Who deleted which availability and why; kept after the availability and its slots are gone, so no foreign keys. */
+@Entity
+@Table(name = "availability_deletion", indexes = {
+        @Index(name = "idx_availability_deletion_provider", columnList = "provider_id, deleted_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityDeletion {
+    @Id
+    @UuidV7Id
+    private UUID id;
+
+    @Column(name = "availability_id", nullable = false)
+    private UUID availabilityId;
+
+    @Column(name = "provider_id", nullable = false)
+    private UUID providerId;
+
+    @Column(name = "recurring", nullable = false)
+    private boolean recurring;
+
+    @Column(name = "deleted_slots", nullable = false)
+    private int deletedSlots;
+
+    @Column(name = "reason", length = 500)
+    private String reason;
+
+    @CreationTimestamp
+    @Column(name = "deleted_at", updatable = false)
+    private Instant deletedAt;
+}
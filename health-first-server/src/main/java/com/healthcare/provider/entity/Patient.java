@@ -1,11 +1,11 @@
 package com.healthcare.provider.entity;
 
+import com.healthcare.provider.id.UuidV7Id;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -14,8 +14,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "patient", uniqueConstraints = {
-        @UniqueConstraint(columnNames = "email"),
-        @UniqueConstraint(columnNames = "phone_number")
+        @UniqueConstraint(name = "uk_patient_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_patient_phone_number", columnNames = "phone_number")
 })
 @Getter
 @Setter
@@ -24,8 +24,7 @@ import java.util.UUID;
 @Builder
 public class Patient {
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @UuidV7Id
     private UUID id;
 
     @Column(name = "first_name", nullable = false, length = 50)
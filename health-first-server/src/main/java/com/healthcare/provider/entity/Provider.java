@@ -1,20 +1,24 @@
 package com.healthcare.provider.entity;
 
+import com.healthcare.provider.id.UuidV7Id;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "provider")
 @Table(name = "provider", uniqueConstraints = {
-        @UniqueConstraint(columnNames = "email"),
-        @UniqueConstraint(columnNames = "phone_number"),
-        @UniqueConstraint(columnNames = "license_number")
+        @UniqueConstraint(name = "uk_provider_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_provider_phone_number", columnNames = "phone_number"),
+        @UniqueConstraint(name = "uk_provider_license_number", columnNames = "license_number")
 })
 @Getter
 @Setter
@@ -23,8 +27,7 @@ import java.util.UUID;
 @Builder
 public class Provider {
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @UuidV7Id
     private UUID id;
 
     @Column(name = "first_name", nullable = false, length = 50)
@@ -1,10 +1,13 @@
 package com.healthcare.provider.entity;
 
+import com.healthcare.provider.id.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -15,7 +18,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "provider_availability")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "provider-availability")
+@Table(name = "provider_availability", indexes = {
+        @Index(name = "idx_provider_availability_provider_date", columnList = "provider_id, date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,8 +30,7 @@ import java.util.UUID;
 @Builder
 public class ProviderAvailability {
     @Id
-    @GeneratedValue
-    @UuidGenerator
+    @UuidV7Id
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -57,10 +63,12 @@ public class ProviderAvailability {
     @Column(nullable = false)
     private int breakDuration = 0;
 
+    @Builder.Default
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private SlotStatus status = SlotStatus.AVAILABLE;
 
+    @Builder.Default
     @Column(nullable = false)
     private int maxAppointmentsPerSlot = 1;
 
@@ -81,6 +89,8 @@ public class ProviderAvailability {
     private String notes;
 
     @ElementCollection
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "provider-availability-special-requirements")
     private List<String> specialRequirements;
 
     @CreationTimestamp
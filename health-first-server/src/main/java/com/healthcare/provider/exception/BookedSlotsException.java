@@ -0,0 +1,7 @@
+package com.healthcare.provider.exception;
+
+public class BookedSlotsException extends RuntimeException {
+    public BookedSlotsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.healthcare.provider.exception;
+
+public class SlotNotFoundException extends RuntimeException {
+    public SlotNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.healthcare.provider.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/** Generates an appointment slot id with {@link SlotStartIdGenerator}, timestamped with the slot start. */
+@IdGeneratorType(SlotStartIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface SlotStartId {
+}
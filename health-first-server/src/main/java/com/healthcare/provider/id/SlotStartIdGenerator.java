@@ -0,0 +1,31 @@
+package com.healthcare.provider.id;
+
+import com.healthcare.provider.entity.AppointmentSlot;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.util.EnumSet;
+
+import static org.hibernate.generator.EventTypeSets.INSERT_ONLY;
+
+/**
+ * Slot ids carry the slot start rather than the current time: id lookups read it back to find the
+ * slot's partition. Same ids as the JDBC batch insert assigns to slots without one.
+ */
+public class SlotStartIdGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        AppointmentSlot slot = (AppointmentSlot) owner;
+        if (slot.getSlotStartTime() == null) {
+            throw new IllegalStateException("Slot start time is needed to assign a slot id");
+        }
+        return UuidV7.at(slot.getSlotStartTime().toInstant().toEpochMilli());
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return INSERT_ONLY;
+    }
+}
@@ -0,0 +1,62 @@
+package com.healthcare.provider.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7): 48 bits of Unix milliseconds, then 74 bits that are
+ * random or, for {@link #of}, derived from a name. Ids made close together in time land next to
+ * each other in a B-tree index instead of on random pages.
+ */
+public final class UuidV7 {
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    // Last (millis << 12 | sequence) handed out, so ids from this JVM never go backwards
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long state = LAST.updateAndGet(prev -> now > prev ? now : prev + 1);
+        long msb = (state >>> 12) << 16 | 0x7000L | (state & 0xFFFL);
+        long lsb = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /** Random id carrying the given timestamp instead of the current time. */
+    public static UUID at(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (epochMillis & 0xFFFFFFFFFFFFL) << 16 | 0x7000L | (random.nextLong() & 0xFFFL);
+        long lsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /** Deterministic id with the given timestamp and the remaining bits taken from a hash of the name. */
+    public static UUID of(long epochMillis, byte[] name) {
+        UUID hash = UUID.nameUUIDFromBytes(name);
+        long msb = (epochMillis & 0xFFFFFFFFFFFFL) << 16 | 0x7000L | (hash.getMostSignificantBits() & 0xFFFL);
+        long lsb = hash.getLeastSignificantBits() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    public static long timestamp(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    /** The 128 bits as 26 Crockford base32 characters, e.g. for references shown to people. */
+    public static String toBase32(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        char[] out = new char[26];
+        // 26 * 5 = 130 bits, so the first character only carries the top 3 bits
+        for (int i = 25; i >= 0; i--) {
+            out[i] = CROCKFORD[(int) (lsb & 31)];
+            lsb = lsb >>> 5 | msb << 59;
+            msb >>>= 5;
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,4 @@
+package com.healthcare.provider.notification;
+
+public record EmailMessage(String from, String to, String subject, String body) {
+}
@@ -0,0 +1,139 @@
+package com.healthcare.provider.notification;
+
+import com.healthcare.provider.entity.EmailOutboxMessage;
+import com.healthcare.provider.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drains the email outbox off the request path. Each run claims a batch of due messages by leasing
+ * them (pushing their due time past the lease) in a short transaction, sends them with no
+ * transaction open, then records each outcome. Failures are retried with exponential backoff and
+ * jitter until the attempt limit, after which the message is marked FAILED. A dispatcher that
+ * dies mid-batch leaves its messages to be picked up again when the lease runs out.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailSender emailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.email.from:no-reply@healthfirst.local}")
+    private String from;
+
+    @Value("${notification.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${notification.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.email.outbox.initial-backoff:30s}")
+    private Duration initialBackoff;
+
+    @Value("${notification.email.outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    @Value("${notification.email.outbox.lease:5m}")
+    private Duration lease;
+
+    private Timer sendDuration;
+    private Timer deliveryLag;
+    private Counter sent;
+    private Counter retried;
+    private Counter failed;
+
+    @PostConstruct
+    void init() {
+        sendDuration = Timer.builder("email.outbox.send.duration")
+                .description("Time spent in the mail sender per message")
+                .register(meterRegistry);
+        deliveryLag = Timer.builder("email.outbox.delivery.lag")
+                .description("Time from enqueue to successful delivery")
+                .register(meterRegistry);
+        sent = Counter.builder("email.outbox.sent").register(meterRegistry);
+        retried = Counter.builder("email.outbox.retried")
+                .description("Failed attempts that were scheduled for another try")
+                .register(meterRegistry);
+        failed = Counter.builder("email.outbox.failed")
+                .description("Messages given up on after the last attempt")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.pending", outboxRepository, r -> r.countByStatus(EmailOutboxMessage.Status.PENDING))
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.email.outbox.poll-interval:PT5S}")
+    public void dispatch() {
+        List<EmailOutboxMessage> batch;
+        do {
+            batch = claimBatch();
+            for (EmailOutboxMessage message : batch) {
+                deliver(message);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<EmailOutboxMessage> due = outboxRepository.findDueForUpdate(
+                    EmailOutboxMessage.Status.PENDING, now, PageRequest.of(0, batchSize));
+            if (!due.isEmpty()) {
+                outboxRepository.lease(due.stream().map(EmailOutboxMessage::getId).toList(), now.plus(lease));
+            }
+            return due;
+        });
+    }
+
+    private void deliver(EmailOutboxMessage message) {
+        try {
+            sendDuration.record(() -> emailSender.send(new EmailMessage(from, message.getRecipient(), message.getSubject(), message.getBody())));
+        } catch (RuntimeException e) {
+            int attempt = message.getAttempts() + 1;
+            boolean giveUp = attempt >= maxAttempts;
+            Instant next = giveUp ? Instant.now() : Instant.now().plus(backoff(attempt));
+            String error = String.valueOf(e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.markFailed(message.getId(),
+                    giveUp ? EmailOutboxMessage.Status.FAILED : EmailOutboxMessage.Status.PENDING, next,
+                    error.length() > 1000 ? error.substring(0, 1000) : error));
+            if (giveUp) {
+                failed.increment();
+                log.warn("Giving up on email {} to {} after {} attempts: {}", message.getId(), message.getRecipient(), attempt, error);
+            } else {
+                retried.increment();
+                log.debug("Email {} failed (attempt {}), retrying at {}: {}", message.getId(), attempt, next, error);
+            }
+            return;
+        }
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.markSent(message.getId(), now));
+        sent.increment();
+        if (message.getCreatedAt() != null) {
+            deliveryLag.record(Duration.between(message.getCreatedAt(), now));
+        }
+    }
+
+    /** initial * 2^(attempt-1), capped, with up to 20% jitter so retries from one outage spread out. */
+    private Duration backoff(int attempt) {
+        long base = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        return Duration.ofMillis(capped - ThreadLocalRandom.current().nextLong(capped / 5 + 1));
+    }
+}
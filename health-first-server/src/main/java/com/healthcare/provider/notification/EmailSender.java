@@ -0,0 +1,9 @@
+package com.healthcare.provider.notification;
+
+/**
+ * Delivers one message. Implementations throw on failure; the outbox dispatcher retries with
+ * backoff, so a sender should not retry on its own.
+ */
+public interface EmailSender {
+    void send(EmailMessage message);
+}
@@ -0,0 +1,33 @@
+package com.healthcare.provider.notification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+/** Writes each message as an .eml file into a local directory, for development without a mail server. */
+public class FileEmailSender implements EmailSender {
+    private final Path directory;
+
+    public FileEmailSender(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void send(EmailMessage message) {
+        String eml = "From: " + message.from() + "\r\n"
+                + "To: " + message.to() + "\r\n"
+                + "Subject: " + message.subject() + "\r\n"
+                + "Date: " + Instant.now() + "\r\n"
+                + "Content-Type: text/plain; charset=UTF-8\r\n\r\n"
+                + message.body() + "\r\n";
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(Instant.now().toEpochMilli() + "-" + UUID.randomUUID() + ".eml"), eml);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
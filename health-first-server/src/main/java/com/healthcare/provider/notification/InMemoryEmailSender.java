@@ -0,0 +1,22 @@
+package com.healthcare.provider.notification;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** Keeps sent messages in memory so tests can assert on them. */
+public class InMemoryEmailSender implements EmailSender {
+    private final List<EmailMessage> sent = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(EmailMessage message) {
+        sent.add(message);
+    }
+
+    public List<EmailMessage> getSent() {
+        return List.copyOf(sent);
+    }
+
+    public void clear() {
+        sent.clear();
+    }
+}
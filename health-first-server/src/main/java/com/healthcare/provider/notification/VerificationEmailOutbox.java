@@ -0,0 +1,47 @@
+package com.healthcare.provider.notification;
+
+import com.healthcare.provider.entity.EmailOutboxMessage;
+import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Queues registration emails in the outbox. Must be called inside the transaction that inserts
+ * the account, so the message exists if and only if the registration commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class VerificationEmailOutbox {
+    private final EmailOutboxRepository outboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Provider provider) {
+        enqueue(provider.getEmail(), "Verify your Health First provider account",
+                "Hello Dr. " + provider.getLastName() + ",\n\n"
+                        + "Thank you for registering with Health First. We are reviewing your license number "
+                        + provider.getLicenseNumber() + " and will let you know once your account has been verified.\n");
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Patient patient) {
+        enqueue(patient.getEmail(), "Welcome to Health First",
+                "Hello " + patient.getFirstName() + ",\n\n"
+                        + "Your Health First patient account has been created. Please verify your email address "
+                        + "to finish setting it up.\n");
+    }
+
+    private void enqueue(String recipient, String subject, String body) {
+        outboxRepository.save(EmailOutboxMessage.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(Instant.now())
+                .build());
+    }
+}
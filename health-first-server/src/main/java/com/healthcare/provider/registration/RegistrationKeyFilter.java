@@ -0,0 +1,101 @@
+package com.healthcare.provider.registration;
+
+import com.healthcare.provider.repository.PatientRepository;
+import com.healthcare.provider.repository.ProviderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of the unique registration keys already taken (provider email, phone and license
+ * number; patient email and phone). A "no" means the registration can skip its uniqueness query;
+ * keys registered elsewhere are still caught by the database constraints at insert. Until the
+ * initial load has finished every key is reported as possibly taken.
+ */
+@Component
+@RequiredArgsConstructor
+public class RegistrationKeyFilter {
+    private final ProviderRepository providerRepository;
+    private final PatientRepository patientRepository;
+
+    @Value("${registration.key-filter.expected-keys:1000000}")
+    private long expectedKeys;
+
+    @Value("${registration.key-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        BloomFilter loaded = new BloomFilter(expectedKeys, falsePositiveRate);
+        try (Stream<Object[]> keys = providerRepository.streamUniqueKeys()) {
+            keys.forEach(k -> {
+                loaded.put(key("provider.email", k[0]));
+                loaded.put(key("provider.phone", k[1]));
+                loaded.put(key("provider.license", k[2]));
+            });
+        }
+        try (Stream<Object[]> keys = patientRepository.streamUniqueKeys()) {
+            keys.forEach(k -> {
+                loaded.put(key("patient.email", k[0]));
+                loaded.put(key("patient.phone", k[1]));
+            });
+        }
+        filter = loaded;
+    }
+
+    public boolean mightContainProvider(String email, String phoneNumber, String licenseNumber) {
+        BloomFilter current = filter;
+        return current == null
+                || current.mightContain(key("provider.email", email))
+                || current.mightContain(key("provider.phone", phoneNumber))
+                || current.mightContain(key("provider.license", licenseNumber));
+    }
+
+    public void putProvider(String email, String phoneNumber, String licenseNumber) {
+        BloomFilter current = filter;
+        if (current == null) return;
+        current.put(key("provider.email", email));
+        current.put(key("provider.phone", phoneNumber));
+        current.put(key("provider.license", licenseNumber));
+    }
+
+    public boolean mightContainPatient(String email, String phoneNumber) {
+        BloomFilter current = filter;
+        return current == null
+                || current.mightContain(key("patient.email", email))
+                || current.mightContain(key("patient.phone", phoneNumber));
+    }
+
+    public void putPatient(String email, String phoneNumber) {
+        BloomFilter current = filter;
+        if (current == null) return;
+        current.put(key("patient.email", email));
+        current.put(key("patient.phone", phoneNumber));
+    }
+
+    /**
+     * Which of the given columns a unique-constraint violation refers to, going by the key the
+     * driver reports: "(email)=" on PostgreSQL, "(EMAIL NULLS FIRST)" on H2. Null if none matches.
+     */
+    public static String violatedColumn(DataIntegrityViolationException ex, String... columns) {
+        String message = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        for (String column : columns) {
+            if (message.contains("(" + column + ")") || message.contains("(" + column + " ")) return column;
+        }
+        return null;
+    }
+
+    private static String key(String field, Object value) {
+        return field + ':' + value;
+    }
+}
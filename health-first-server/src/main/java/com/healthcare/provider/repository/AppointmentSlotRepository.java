@@ -1,19 +1,150 @@
 package com.healthcare.provider.repository;
 
 import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.Patient;
 import com.healthcare.provider.entity.Provider;
 import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.id.UuidV7;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface AppointmentSlotRepository extends JpaRepository<AppointmentSlot, UUID> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface AppointmentSlotRepository extends JpaRepository<AppointmentSlot, UUID>, AppointmentSlotRepositoryCustom {
     List<AppointmentSlot> findByProvider(Provider provider);
-    List<AppointmentSlot> findByAvailability(ProviderAvailability availability);
     List<AppointmentSlot> findBySlotStartTimeBetween(ZonedDateTime start, ZonedDateTime end);
     List<AppointmentSlot> findByStatus(AppointmentSlot.SlotStatus status);
+    List<AppointmentSlot> findByStatusNotAndSlotStartTimeBetween(AppointmentSlot.SlotStatus status, ZonedDateTime start, ZonedDateTime end);
     List<AppointmentSlot> findByProviderAndSlotStartTimeBetween(Provider provider, ZonedDateTime start, ZonedDateTime end);
     List<AppointmentSlot> findByProviderAndStatus(Provider provider, AppointmentSlot.SlotStatus status);
-} 
\ No newline at end of file
+    List<AppointmentSlot> findByProviderAndStatusNotAndSlotStartTimeBetween(Provider provider, AppointmentSlot.SlotStatus status,
+                                                                          ZonedDateTime start, ZonedDateTime end);
+
+    /**
+     * By id and the start time the id carries (see {@link #slotStartOf}), so a partitioned table reads one month.
+     * Ids from before slot ids were time-ordered fall back to the plain primary-key lookup.
+     */
+    default Optional<AppointmentSlot> findSlot(UUID id) {
+        return id.version() == 7 ? findByIdAndSlotStartTime(id, slotStartOf(id)) : findById(id);
+    }
+
+    Optional<AppointmentSlot> findByIdAndSlotStartTime(UUID id, ZonedDateTime slotStartTime);
+
+    default List<AppointmentSlot> findByAvailability(ProviderAvailability availability) {
+        return findByAvailabilityInOrderBySlotStartTime(List.of(availability));
+    }
+
+    default long countByAvailabilityAndStatus(ProviderAvailability availability, AppointmentSlot.SlotStatus status) {
+        return countByAvailabilityAndStatusAndSlotStartTimeGreaterThanEqual(availability, status, earliestSlotStart(availability.getDate()));
+    }
+
+    long countByAvailabilityAndStatusAndSlotStartTimeGreaterThanEqual(ProviderAvailability availability, AppointmentSlot.SlotStatus status,
+                                                                      ZonedDateTime notBefore);
+
+    /** Bounded below by the earliest availability date, so a partitioned table skips the months before it. */
+    default List<AppointmentSlot> findByAvailabilityInOrderBySlotStartTime(Collection<ProviderAvailability> availabilities) {
+        LocalDate earliest = availabilities.stream().map(ProviderAvailability::getDate).min(LocalDate::compareTo).orElse(LocalDate.now());
+        return findByAvailabilityInAndSlotStartTimeGreaterThanEqualOrderBySlotStartTime(availabilities, earliestSlotStart(earliest));
+    }
+
+    List<AppointmentSlot> findByAvailabilityInAndSlotStartTimeGreaterThanEqualOrderBySlotStartTime(
+            Collection<ProviderAvailability> availabilities, ZonedDateTime notBefore);
+
+    /** Slots of the given availabilities as read-only views, with the same lower bound as the entity lookup. */
+    default List<SlotView> findViewsByAvailabilityIn(Collection<AvailabilityView> availabilities) {
+        LocalDate earliest = availabilities.stream().map(AvailabilityView::date).min(LocalDate::compareTo).orElse(LocalDate.now());
+        return findViewsByAvailabilityIdIn(availabilities.stream().map(AvailabilityView::id).toList(), earliestSlotStart(earliest));
+    }
+
+    @Query("select new com.healthcare.provider.repository.SlotView(s.id, s.availability.id, s.slotStartTime, s.slotEndTime, "
+            + "s.status, s.appointmentType) from AppointmentSlot s "
+            + "where s.availability.id in :availabilityIds and s.slotStartTime >= :notBefore order by s.slotStartTime")
+    List<SlotView> findViewsByAvailabilityIdIn(@Param("availabilityIds") Collection<UUID> availabilityIds,
+                                               @Param("notBefore") ZonedDateTime notBefore);
+
+    default Stream<AppointmentSlot> streamForRange(Provider provider, LocalDate start, LocalDate end, ProviderAvailability.SlotStatus status) {
+        return streamForRange(provider, start, end, status, earliestSlotStart(start));
+    }
+
+    // Same ordering as ProviderAvailabilityRepository.streamForRange, so both cursors can be merged in one pass
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select s from AppointmentSlot s join s.availability a where a.provider = :provider and a.date between :start and :end "
+            + "and (:status is null or a.status = :status) and s.slotStartTime >= :notBefore order by a.date, a.id, s.slotStartTime")
+    Stream<AppointmentSlot> streamForRange(@Param("provider") Provider provider, @Param("start") LocalDate start,
+                                           @Param("end") LocalDate end, @Param("status") ProviderAvailability.SlotStatus status,
+                                           @Param("notBefore") ZonedDateTime notBefore);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from AppointmentSlot s where s.availability.id in :availabilityIds")
+    int deleteAllByAvailabilityIdIn(@Param("availabilityIds") Collection<UUID> availabilityIds);
+
+    /** Bounded by the earliest and latest start the ids carry, unless some id predates time-ordered slot ids. */
+    default int deleteAllByIdIn(Collection<UUID> ids) {
+        if (ids.isEmpty() || ids.stream().anyMatch(id -> id.version() != 7)) return deleteAllByIdInUnbounded(ids);
+        List<ZonedDateTime> starts = ids.stream().map(AppointmentSlotRepository::slotStartOf).sorted().toList();
+        return deleteAllByIdInAndSlotStartTimeBetween(ids, starts.get(0), starts.get(starts.size() - 1));
+    }
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from AppointmentSlot s where s.id in :ids and s.slotStartTime between :earliest and :latest")
+    int deleteAllByIdInAndSlotStartTimeBetween(@Param("ids") Collection<UUID> ids, @Param("earliest") ZonedDateTime earliest,
+                                               @Param("latest") ZonedDateTime latest);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from AppointmentSlot s where s.id in :ids")
+    int deleteAllByIdInUnbounded(@Param("ids") Collection<UUID> ids);
+
+    // Compare-and-set in one UPDATE: of any number of concurrent calls for a slot only one still sees the expected status
+    default int transition(UUID id, AppointmentSlot.SlotStatus expected, AppointmentSlot.SlotStatus status, Patient patient,
+                           String reference, ZonedDateTime now) {
+        return id.version() == 7
+                ? transitionAt(id, slotStartOf(id), expected, status, patient, reference, now)
+                : transitionUnbounded(id, expected, status, patient, reference, now);
+    }
+
+    @Modifying
+    @Query("update AppointmentSlot s set s.status = :status, s.patient = :patient, s.bookingReference = :reference, "
+            + "s.updatedAt = :now where s.id = :id and s.slotStartTime = :start and s.status = :expected and s.slotStartTime > :now")
+    int transitionAt(@Param("id") UUID id, @Param("start") ZonedDateTime start, @Param("expected") AppointmentSlot.SlotStatus expected,
+                     @Param("status") AppointmentSlot.SlotStatus status, @Param("patient") Patient patient,
+                     @Param("reference") String reference, @Param("now") ZonedDateTime now);
+
+    @Modifying
+    @Query("update AppointmentSlot s set s.status = :status, s.patient = :patient, s.bookingReference = :reference, "
+            + "s.updatedAt = :now where s.id = :id and s.status = :expected and s.slotStartTime > :now")
+    int transitionUnbounded(@Param("id") UUID id, @Param("expected") AppointmentSlot.SlotStatus expected,
+                            @Param("status") AppointmentSlot.SlotStatus status, @Param("patient") Patient patient,
+                            @Param("reference") String reference, @Param("now") ZonedDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update AppointmentSlot s set s.appointmentType = :appointmentType where s.id in :ids")
+    int updateAppointmentType(@Param("ids") Collection<UUID> ids, @Param("appointmentType") String appointmentType);
+
+    /** Slot ids are UUIDv7 with the slot start as their timestamp (SlotGenerator.slotId, insertAll, SlotStartIdGenerator). */
+    private static ZonedDateTime slotStartOf(UUID slotId) {
+        return Instant.ofEpochMilli(UuidV7.timestamp(slotId)).atZone(ZoneOffset.UTC);
+    }
+
+    /**
+     * No slot of an availability starts before the UTC day preceding its local date, whatever its time zone.
+     * A lower bound on slot_start_time is what lets PostgreSQL prune the monthly partitions of past slots.
+     */
+    private static ZonedDateTime earliestSlotStart(LocalDate date) {
+        return date.minusDays(1).atStartOfDay(ZoneOffset.UTC);
+    }
+}
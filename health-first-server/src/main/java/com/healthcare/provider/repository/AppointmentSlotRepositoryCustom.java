@@ -0,0 +1,13 @@
+package com.healthcare.provider.repository;
+
+import com.healthcare.provider.entity.AppointmentSlot;
+
+import java.util.List;
+
+public interface AppointmentSlotRepositoryCustom {
+    /**
+     * Inserts the given slots with JDBC batching instead of one INSERT per entity.
+     * Slots without an id get one assigned. Returns the number of rows written.
+     */
+    int insertAll(List<AppointmentSlot> slots);
+}
@@ -0,0 +1,72 @@
+package com.healthcare.provider.repository;
+
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.id.UuidV7;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class AppointmentSlotRepositoryCustomImpl implements AppointmentSlotRepositoryCustom {
+    // Every row uses the same statement text, so the PostgreSQL driver can rewrite
+    // a batch into multi-row inserts when reWriteBatchedInserts is enabled.
+    private static final String INSERT_SQL = "INSERT INTO appointment_slot "
+            + "(id, availability_id, provider_id, patient_id, slot_start_time, slot_end_time, status, booking_reference, appointment_type, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public AppointmentSlotRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                               @Value("${scheduling.slots.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int insertAll(List<AppointmentSlot> slots) {
+        if (slots.isEmpty()) return 0;
+        // Pending availability inserts and slot deletes must reach the database before the batch
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<AppointmentSlot> ordered = new ArrayList<>(slots);
+        ordered.sort(Comparator.comparing(AppointmentSlot::getSlotStartTime));
+        // Slot ids carry their start time, which id lookups use to find the partition
+        for (AppointmentSlot slot : ordered) {
+            if (slot.getId() == null) slot.setId(UuidV7.at(slot.getSlotStartTime().toInstant().toEpochMilli()));
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, ordered, batchSize, (ps, slot) -> {
+            ps.setObject(1, slot.getId());
+            ps.setObject(2, slot.getAvailability().getId());
+            ps.setObject(3, slot.getProvider().getId());
+            ps.setObject(4, slot.getPatient() != null ? slot.getPatient().getId() : null);
+            ps.setObject(5, slot.getSlotStartTime().toOffsetDateTime());
+            ps.setObject(6, slot.getSlotEndTime().toOffsetDateTime());
+            ps.setString(7, slot.getStatus().name());
+            ps.setString(8, slot.getBookingReference());
+            ps.setString(9, slot.getAppointmentType());
+            ps.setObject(10, now);
+            ps.setObject(11, now);
+        });
+        int written = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Drivers may report SUCCESS_NO_INFO (-2) for rewritten batches
+                written += count >= 0 ? count : 1;
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,11 @@
+package com.healthcare.provider.repository;
+
+import com.healthcare.provider.entity.AvailabilityDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface AvailabilityDeletionRepository extends JpaRepository<AvailabilityDeletion, UUID> {
+    List<AvailabilityDeletion> findByAvailabilityId(UUID availabilityId);
+}
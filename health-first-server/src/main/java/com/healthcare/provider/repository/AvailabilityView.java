@@ -0,0 +1,37 @@
+package com.healthcare.provider.repository;
+
+import com.healthcare.provider.entity.ProviderAvailability;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * The columns of a provider_availability row that an availability listing returns, selected by a constructor
+ * expression: no managed entity, provider proxy or dirty-checking snapshot is created for it.
+ */
+public record AvailabilityView(
+        UUID id,
+        UUID providerId,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        String timezone,
+        boolean recurring,
+        ProviderAvailability.RecurrencePattern recurrencePattern,
+        LocalDate recurrenceEndDate,
+        int slotDuration,
+        int breakDuration,
+        ProviderAvailability.SlotStatus status,
+        int maxAppointmentsPerSlot,
+        int currentAppointments,
+        ProviderAvailability.AppointmentType appointmentType,
+        ProviderAvailability.Location.LocationType locationType,
+        String locationAddress,
+        String locationRoomNumber,
+        BigDecimal baseFee,
+        Boolean insuranceAccepted,
+        String currency,
+        String notes) {
+}
@@ -0,0 +1,40 @@
+package com.healthcare.provider.repository;
+
+import com.healthcare.provider.entity.EmailOutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, UUID> {
+    // Rows locked by another dispatcher are skipped rather than waited on
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select m from EmailOutboxMessage m where m.status = :status and m.nextAttemptAt <= :now order by m.nextAttemptAt")
+    List<EmailOutboxMessage> findDueForUpdate(@Param("status") EmailOutboxMessage.Status status, @Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("update EmailOutboxMessage m set m.nextAttemptAt = :leaseUntil where m.id in :ids")
+    int lease(@Param("ids") List<UUID> ids, @Param("leaseUntil") Instant leaseUntil);
+
+    @Modifying
+    @Query("update EmailOutboxMessage m set m.status = 'SENT', m.sentAt = :sentAt, m.attempts = m.attempts + 1, m.lastError = null where m.id = :id")
+    int markSent(@Param("id") UUID id, @Param("sentAt") Instant sentAt);
+
+    @Modifying
+    @Query("update EmailOutboxMessage m set m.status = :status, m.nextAttemptAt = :nextAttemptAt, m.attempts = m.attempts + 1, "
+            + "m.lastError = :error where m.id = :id")
+    int markFailed(@Param("id") UUID id, @Param("status") EmailOutboxMessage.Status status,
+                   @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error);
+
+    long countByStatus(EmailOutboxMessage.Status status);
+}
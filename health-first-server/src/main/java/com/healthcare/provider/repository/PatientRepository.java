@@ -2,13 +2,20 @@ package com.healthcare.provider.repository;
 
 import com.healthcare.provider.entity.Patient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PatientRepository extends JpaRepository<Patient, UUID> {
     Optional<Patient> findByEmail(String email);
     Optional<Patient> findByPhoneNumber(String phoneNumber);
     boolean existsByEmail(String email);
     boolean existsByPhoneNumber(String phoneNumber);
+    List<Patient> findByEmailOrPhoneNumber(String email, String phoneNumber);
+
+    @Query("select p.email, p.phoneNumber from Patient p")
+    Stream<Object[]> streamUniqueKeys();
 } 
\ No newline at end of file
@@ -2,14 +2,66 @@ package com.healthcare.provider.repository;
 
 import com.healthcare.provider.entity.ProviderAvailability;
 import com.healthcare.provider.entity.Provider;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface ProviderAvailabilityRepository extends JpaRepository<ProviderAvailability, UUID> {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<ProviderAvailability> findByProvider(Provider provider);
     List<ProviderAvailability> findByProviderAndDateBetween(Provider provider, LocalDate start, LocalDate end);
     List<ProviderAvailability> findByProviderAndDateBetweenAndStatus(Provider provider, LocalDate start, LocalDate end, ProviderAvailability.SlotStatus status);
-} 
\ No newline at end of file
+
+    @EntityGraph(attributePaths = "specialRequirements")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<ProviderAvailability> findWithRequirementsByProviderAndDateBetween(Provider provider, LocalDate start, LocalDate end);
+
+    @EntityGraph(attributePaths = "specialRequirements")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<ProviderAvailability> findWithRequirementsByProviderAndDateBetweenAndStatus(Provider provider, LocalDate start, LocalDate end, ProviderAvailability.SlotStatus status);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select new com.healthcare.provider.repository.AvailabilityView(a.id, a.provider.id, a.date, a.startTime, a.endTime, "
+            + "a.timezone, a.isRecurring, a.recurrencePattern, a.recurrenceEndDate, a.slotDuration, a.breakDuration, a.status, "
+            + "a.maxAppointmentsPerSlot, a.currentAppointments, a.appointmentType, a.location.type, a.location.address, "
+            + "a.location.roomNumber, a.pricing.baseFee, a.pricing.insuranceAccepted, a.pricing.currency, a.notes) "
+            + "from ProviderAvailability a where a.provider.id = :providerId and a.date between :start and :end "
+            + "and (:status is null or a.status = :status) order by a.date, a.id")
+    List<AvailabilityView> findViewsForRange(@Param("providerId") UUID providerId, @Param("start") LocalDate start,
+                                             @Param("end") LocalDate end, @Param("status") ProviderAvailability.SlotStatus status);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select new com.healthcare.provider.repository.SpecialRequirementView(a.id, r) "
+            + "from ProviderAvailability a join a.specialRequirements r where a.id in :availabilityIds")
+    List<SpecialRequirementView> findSpecialRequirementViews(@Param("availabilityIds") Collection<UUID> availabilityIds);
+
+    /** Availabilities with an occurrence that may be dated within [start, end], with what the search index copies. */
+    @EntityGraph(attributePaths = {"provider", "specialRequirements"})
+    @Query("select a from ProviderAvailability a where a.date <= :end "
+            + "and (a.date >= :start or (a.isRecurring = true and a.recurrenceEndDate >= :start))")
+    List<ProviderAvailability> findForIndexing(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "100"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select a from ProviderAvailability a where a.provider = :provider and a.date between :start and :end "
+            + "and (:status is null or a.status = :status) order by a.date, a.id")
+    Stream<ProviderAvailability> streamForRange(@Param("provider") Provider provider, @Param("start") LocalDate start,
+                                                @Param("end") LocalDate end, @Param("status") ProviderAvailability.SlotStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from ProviderAvailability a where a.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -2,15 +2,27 @@ package com.healthcare.provider.repository;
 
 import com.healthcare.provider.entity.Provider;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
 
 public interface ProviderRepository extends JpaRepository<Provider, UUID> {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Provider> findByEmail(String email);
     Optional<Provider> findByPhoneNumber(String phoneNumber);
     Optional<Provider> findByLicenseNumber(String licenseNumber);
     boolean existsByEmail(String email);
     boolean existsByPhoneNumber(String phoneNumber);
     boolean existsByLicenseNumber(String licenseNumber);
+    List<Provider> findByEmailOrPhoneNumberOrLicenseNumber(String email, String phoneNumber, String licenseNumber);
+
+    @Query("select p.email, p.phoneNumber, p.licenseNumber from Provider p")
+    Stream<Object[]> streamUniqueKeys();
 } 
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.healthcare.provider.repository;
+
+import com.healthcare.provider.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+    @Query("select t from RefreshToken t where t.revoked = false and t.expiresAt > :now")
+    Stream<RefreshToken> streamActive(@Param("now") Instant now);
+
+    // Conditional, so a token is consumed exactly once even across instances
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.id = :id and t.revoked = false")
+    int revoke(@Param("id") UUID id);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.revoked = true or t.expiresAt <= :now")
+    int deleteRevokedOrExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,16 @@
+package com.healthcare.provider.repository;
+
+import com.healthcare.provider.entity.AppointmentSlot;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/** The columns of an appointment_slot row that an availability listing returns; see {@link AvailabilityView}. */
+public record SlotView(
+        UUID id,
+        UUID availabilityId,
+        ZonedDateTime slotStartTime,
+        ZonedDateTime slotEndTime,
+        AppointmentSlot.SlotStatus status,
+        String appointmentType) {
+}
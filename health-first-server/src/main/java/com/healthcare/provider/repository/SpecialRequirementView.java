@@ -0,0 +1,7 @@
+package com.healthcare.provider.repository;
+
+import java.util.UUID;
+
+/** One entry of an availability's special requirements, keyed by the availability it belongs to. */
+public record SpecialRequirementView(UUID availabilityId, String requirement) {
+}
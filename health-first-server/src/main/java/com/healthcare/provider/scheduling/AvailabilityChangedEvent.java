@@ -0,0 +1,25 @@
+package com.healthcare.provider.scheduling;
+
+import com.healthcare.provider.entity.ProviderAvailability;
+
+import java.util.UUID;
+
+/**
+ * Published by the availability service when an availability is created, updated or deleted.
+ * In-memory scheduling indexes apply it once the surrounding transaction commits.
+ */
+public record AvailabilityChangedEvent(Type type, UUID providerId, UUID availabilityId, ProviderAvailability availability) {
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    public static AvailabilityChangedEvent created(ProviderAvailability availability) {
+        return new AvailabilityChangedEvent(Type.CREATED, availability.getProvider().getId(), availability.getId(), availability);
+    }
+
+    public static AvailabilityChangedEvent updated(ProviderAvailability availability) {
+        return new AvailabilityChangedEvent(Type.UPDATED, availability.getProvider().getId(), availability.getId(), availability);
+    }
+
+    public static AvailabilityChangedEvent deleted(UUID providerId, UUID availabilityId) {
+        return new AvailabilityChangedEvent(Type.DELETED, providerId, availabilityId, null);
+    }
+}
@@ -0,0 +1,100 @@
+package com.healthcare.provider.scheduling;
+
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.repository.ProviderAvailabilityRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Per-provider interval tree of availability windows keyed on UTC epoch seconds, with recurring
+ * series expanded into one interval per occurrence. A provider's availabilities are loaded from
+ * the database on first use and then kept in step with create, update and delete events; idle
+ * providers are evicted (see {@link ProviderIndexCache}).
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIntervalIndex {
+    private final ProviderAvailabilityRepository availabilityRepo;
+    private final SlotGenerator slotGenerator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${scheduling.indexes.max-providers:10000}")
+    private long maxProviders = 10_000;
+
+    @Value("${scheduling.indexes.expire-after-access:30m}")
+    private Duration expireAfterAccess = Duration.ofMinutes(30);
+
+    private ProviderIndexCache<ProviderIntervals> providers;
+
+    @PostConstruct
+    void init() {
+        providers = new ProviderIndexCache<>("scheduling.interval-index", maxProviders, expireAfterAccess, meterRegistry);
+    }
+
+    /** Whether any occurrence overlaps another availability; an existing one being updated is not checked against itself. */
+    public boolean hasConflict(Provider provider, ProviderAvailability candidate) {
+        ProviderIntervals intervals = intervalsFor(provider);
+        for (SlotGenerator.Occurrence occurrence : slotGenerator.occurrences(candidate)) {
+            if (intervals.overlaps(occurrence.start().getEpochSecond(), occurrence.end().getEpochSecond(), candidate.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        // Providers not loaded yet will read the committed state on first use
+        switch (event.type()) {
+            case CREATED, UPDATED -> {
+                List<SlotGenerator.Occurrence> occurrences = slotGenerator.occurrences(event.availability());
+                providers.update(event.providerId(), intervals -> intervals.replace(event.availabilityId(), occurrences));
+            }
+            case DELETED -> providers.update(event.providerId(), intervals -> intervals.remove(event.availabilityId()));
+        }
+    }
+
+    private ProviderIntervals intervalsFor(Provider provider) {
+        return providers.get(provider.getId(), () -> {
+            ProviderIntervals intervals = new ProviderIntervals();
+            for (ProviderAvailability availability : availabilityRepo.findByProvider(provider)) {
+                intervals.replace(availability.getId(), slotGenerator.occurrences(availability));
+            }
+            return intervals;
+        });
+    }
+
+    private static final class ProviderIntervals {
+        private final IntervalTree<UUID> tree = new IntervalTree<>();
+        private final Map<UUID, List<SlotGenerator.Occurrence>> byAvailability = new HashMap<>();
+
+        synchronized boolean overlaps(long start, long end, UUID excluded) {
+            if (excluded == null || !byAvailability.containsKey(excluded)) return tree.overlapsAny(start, end);
+            return tree.overlapping(start, end).stream().anyMatch(id -> !id.equals(excluded));
+        }
+
+        synchronized void replace(UUID availabilityId, List<SlotGenerator.Occurrence> occurrences) {
+            remove(availabilityId);
+            for (SlotGenerator.Occurrence occurrence : occurrences) {
+                tree.insert(occurrence.start().getEpochSecond(), occurrence.end().getEpochSecond(), availabilityId);
+            }
+            byAvailability.put(availabilityId, occurrences);
+        }
+
+        synchronized void remove(UUID availabilityId) {
+            List<SlotGenerator.Occurrence> previous = byAvailability.remove(availabilityId);
+            if (previous == null) return;
+            for (SlotGenerator.Occurrence occurrence : previous) {
+                tree.remove(occurrence.start().getEpochSecond(), occurrence.end().getEpochSecond(), availabilityId);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.healthcare.provider.scheduling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-size bitmap of one UTC day at {@value #MINUTES_PER_BIT}-minute granularity: 288 bits in five
+ * longs. Ranges are half-open bit indexes [from, to); every query works a word at a time.
+ */
+public final class DayOccupancyMap {
+    public static final int MINUTES_PER_BIT = 5;
+    public static final int SECONDS_PER_BIT = MINUTES_PER_BIT * 60;
+    public static final int BITS = 24 * 60 / MINUTES_PER_BIT;
+    private static final int WORDS = (BITS + 63) >>> 6;
+
+    private final long[] words = new long[WORDS];
+
+    /** First bit touched by a range starting at this second of the day. */
+    public static int floorBit(int secondOfDay) {
+        return secondOfDay / SECONDS_PER_BIT;
+    }
+
+    /** Bit after the last one touched by a range ending at this second of the day. */
+    public static int ceilBit(int secondOfDay) {
+        return (secondOfDay + SECONDS_PER_BIT - 1) / SECONDS_PER_BIT;
+    }
+
+    public void set(int from, int to) {
+        apply(from, to, true);
+    }
+
+    public void clear(int from, int to) {
+        apply(from, to, false);
+    }
+
+    public void clearAll() {
+        Arrays.fill(words, 0L);
+    }
+
+    public boolean intersects(int from, int to) {
+        if (from >= to) return false;
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        for (int i = first; i <= last; i++) {
+            if ((words[i] & mask(i, from, to)) != 0) return true;
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    /** Bits set here and clear in {@code other}, as a new map. */
+    public DayOccupancyMap andNot(DayOccupancyMap other) {
+        DayOccupancyMap result = new DayOccupancyMap();
+        for (int i = 0; i < WORDS; i++) {
+            result.words[i] = words[i] & ~other.words[i];
+        }
+        return result;
+    }
+
+    /** Index of the first set bit at or after {@code from}, or {@link #BITS} if there is none. */
+    public int nextSetBit(int from) {
+        if (from >= BITS) return BITS;
+        int i = from >>> 6;
+        long word = words[i] & (-1L << from);
+        while (true) {
+            if (word != 0) return Math.min(BITS, (i << 6) + Long.numberOfTrailingZeros(word));
+            if (++i == WORDS) return BITS;
+            word = words[i];
+        }
+    }
+
+    /** Index of the first clear bit at or after {@code from}, or {@link #BITS} if there is none. */
+    public int nextClearBit(int from) {
+        if (from >= BITS) return BITS;
+        int i = from >>> 6;
+        long word = ~words[i] & (-1L << from);
+        while (true) {
+            if (word != 0) return Math.min(BITS, (i << 6) + Long.numberOfTrailingZeros(word));
+            if (++i == WORDS) return BITS;
+            word = ~words[i];
+        }
+    }
+
+    /** Maximal runs of set bits as {from, to} pairs, in order. */
+    public List<int[]> runs() {
+        List<int[]> runs = new ArrayList<>();
+        int from = nextSetBit(0);
+        while (from < BITS) {
+            int to = nextClearBit(from);
+            runs.add(new int[]{from, to});
+            from = nextSetBit(to);
+        }
+        return runs;
+    }
+
+    private void apply(int from, int to, boolean value) {
+        if (from < 0 || to > BITS || from > to) {
+            throw new IndexOutOfBoundsException("Bit range [" + from + ", " + to + ") outside day");
+        }
+        if (from == to) return;
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        for (int i = first; i <= last; i++) {
+            if (value) {
+                words[i] |= mask(i, from, to);
+            } else {
+                words[i] &= ~mask(i, from, to);
+            }
+        }
+    }
+
+    private static long mask(int word, int from, int to) {
+        long mask = -1L;
+        int base = word << 6;
+        if (from > base) mask &= -1L << (from - base);
+        if (to < base + 64) mask &= -1L >>> (base + 64 - to);
+        return mask;
+    }
+}
@@ -0,0 +1,165 @@
+package com.healthcare.provider.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AVL tree of half-open intervals [start, end) augmented with the maximum end of each subtree,
+ * so overlap queries run in O(log n + k). Not thread-safe; callers synchronize.
+ */
+public class IntervalTree<V extends Comparable<V>> {
+    private Node<V> root;
+    private int size;
+
+    private static final class Node<V> {
+        final long start;
+        final long end;
+        final V value;
+        long maxEnd;
+        int height = 1;
+        Node<V> left;
+        Node<V> right;
+
+        Node(long start, long end, V value) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.maxEnd = end;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(long start, long end, V value) {
+        if (end <= start) throw new IllegalArgumentException("Interval end must be after start");
+        root = insert(root, start, end, value);
+    }
+
+    public boolean remove(long start, long end, V value) {
+        int before = size;
+        root = remove(root, start, end, value);
+        return size < before;
+    }
+
+    public boolean overlapsAny(long start, long end) {
+        Node<V> node = root;
+        while (node != null) {
+            if (node.start < end && node.end > start) return true;
+            // The left subtree can only hold an overlap if it reaches past start
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else if (node.start < end) {
+                node = node.right;
+            } else {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    public List<V> overlapping(long start, long end) {
+        List<V> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    private void collect(Node<V> node, long start, long end, List<V> result) {
+        if (node == null || node.maxEnd <= start) return;
+        collect(node.left, start, end, result);
+        if (node.start >= end) return; // everything to the right starts even later
+        if (node.end > start) result.add(node.value);
+        collect(node.right, start, end, result);
+    }
+
+    private int compare(long start, long end, V value, Node<V> node) {
+        int cmp = Long.compare(start, node.start);
+        if (cmp != 0) return cmp;
+        cmp = Long.compare(end, node.end);
+        if (cmp != 0) return cmp;
+        return value.compareTo(node.value);
+    }
+
+    private Node<V> insert(Node<V> node, long start, long end, V value) {
+        if (node == null) {
+            size++;
+            return new Node<>(start, end, value);
+        }
+        int cmp = compare(start, end, value, node);
+        if (cmp < 0) {
+            node.left = insert(node.left, start, end, value);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, start, end, value);
+        } else {
+            return node; // already present
+        }
+        return rebalance(node);
+    }
+
+    private Node<V> remove(Node<V> node, long start, long end, V value) {
+        if (node == null) return null;
+        int cmp = compare(start, end, value, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, end, value);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, end, value);
+        } else {
+            size--;
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+            Node<V> successor = node.right;
+            while (successor.left != null) successor = successor.left;
+            Node<V> replacement = new Node<>(successor.start, successor.end, successor.value);
+            size++; // the successor is removed again below
+            replacement.right = remove(node.right, successor.start, successor.end, successor.value);
+            replacement.left = node.left;
+            node = replacement;
+        }
+        return rebalance(node);
+    }
+
+    private Node<V> rebalance(Node<V> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node<V> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        if (node.right != null) maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        node.maxEnd = maxEnd;
+    }
+
+    private int height(Node<V> node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -0,0 +1,68 @@
+package com.healthcare.provider.scheduling;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthcare.provider.datasource.ReadWriteRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Per-provider state of an in-memory scheduling index, bounded by size and idle time. A provider is loaded
+ * in the caller's transaction, pinned to the primary, and outside the cache so no lock is held during I/O.
+ * <p>
+ * Change events arriving while a load runs may or may not be in what it read, so every event bumps a
+ * version (striped by provider id to keep it bounded) and a load is only kept if no version it depends on
+ * moved meanwhile; otherwise it serves the one call and the next use loads again.
+ */
+final class ProviderIndexCache<T> {
+    private static final int VERSION_STRIPES = 1024;
+
+    private final Cache<UUID, T> cache;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    ProviderIndexCache(String name, long maxProviders, Duration expireAfterAccess, MeterRegistry meterRegistry) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxProviders)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    T get(UUID providerId, Supplier<T> loader) {
+        T cached = cache.getIfPresent(providerId);
+        if (cached != null) return cached;
+        long version = versions.get(stripe(providerId));
+        T loaded = ReadWriteRoutingDataSource.onPrimary(loader);
+        // Read from a replica after all: possibly behind, so never kept
+        if (ReadWriteRoutingDataSource.currentRoute() == ReadWriteRoutingDataSource.Route.REPLICA) return loaded;
+        // The version check and the insert happen under the entry's lock, which update() takes as well
+        T kept = cache.asMap().compute(providerId, (id, existing) ->
+                existing != null ? existing : versions.get(stripe(id)) == version ? loaded : null);
+        return kept != null ? kept : loaded;
+    }
+
+    /** Applies an after-commit change to a loaded provider; the change must not do I/O. */
+    void update(UUID providerId, Consumer<T> change) {
+        versions.incrementAndGet(stripe(providerId));
+        cache.asMap().computeIfPresent(providerId, (id, entry) -> {
+            change.accept(entry);
+            return entry;
+        });
+    }
+
+    void invalidate(UUID providerId) {
+        versions.incrementAndGet(stripe(providerId));
+        cache.invalidate(providerId);
+    }
+
+    private static int stripe(UUID providerId) {
+        return (providerId.hashCode() & Integer.MAX_VALUE) % VERSION_STRIPES;
+    }
+}
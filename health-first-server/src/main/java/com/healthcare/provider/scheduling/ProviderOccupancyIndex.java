@@ -0,0 +1,339 @@
+package com.healthcare.provider.scheduling;
+
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.repository.AppointmentSlotRepository;
+import com.healthcare.provider.repository.ProviderAvailabilityRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+
+/**
+ * Per-provider, per-UTC-day occupancy bitmaps over a rolling window around today. Each day holds three
+ * {@link DayOccupancyMap}s: the availability windows rounded outwards (a pre-filter for the conflict check),
+ * the open slot windows rounded inwards, and the slots that are no longer available rounded outwards. A
+ * provider is loaded on first use and kept in step with availability and slot events, one availability at a
+ * time; idle providers are evicted (see {@link ProviderIndexCache}). Questions about days outside the window
+ * are answered from the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderOccupancyIndex {
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private final ProviderAvailabilityRepository availabilityRepo;
+    private final AppointmentSlotRepository slotRepo;
+    private final SlotGenerator slotGenerator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${scheduling.indexes.max-providers:10000}")
+    private long maxProviders = 10_000;
+
+    @Value("${scheduling.indexes.expire-after-access:30m}")
+    private Duration expireAfterAccess = Duration.ofMinutes(30);
+
+    @Value("${scheduling.indexes.occupancy.days-behind:1}")
+    private int daysBehind = 1;
+
+    @Value("${scheduling.indexes.occupancy.days-ahead:90}")
+    private int daysAhead = 90;
+
+    private ProviderIndexCache<ProviderDays> providers;
+
+    @PostConstruct
+    void init() {
+        providers = new ProviderIndexCache<>("scheduling.occupancy-index", maxProviders, expireAfterAccess, meterRegistry);
+    }
+
+    /**
+     * False when none of the occurrences can touch an existing availability window. True only means
+     * they share a {@value DayOccupancyMap#MINUTES_PER_BIT}-minute cell, or fall outside the window,
+     * and needs an exact check.
+     */
+    public boolean mayConflict(Provider provider, List<SlotGenerator.Occurrence> occurrences) {
+        ProviderDays days = daysFor(provider);
+        for (SlotGenerator.Occurrence occurrence : occurrences) {
+            if (!days.covers(occurrence.start(), occurrence.end())) return true;
+        }
+        return days.intersectsWindows(occurrences);
+    }
+
+    /** Back-to-back windows of the given length inside each free run of [from, to). */
+    public List<SlotGenerator.Occurrence> freeWindows(Provider provider, Instant from, Instant to, Duration duration) {
+        List<SlotGenerator.Occurrence> windows = new ArrayList<>();
+        for (SlotGenerator.Occurrence run : freeRuns(provider, from, to)) {
+            for (Instant start = run.start(); !start.plus(duration).isAfter(run.end()); start = start.plus(duration)) {
+                windows.add(new SlotGenerator.Occurrence(start, start.plus(duration)));
+            }
+        }
+        return windows;
+    }
+
+    public Optional<SlotGenerator.Occurrence> longestGap(Provider provider, Instant from, Instant to) {
+        return freeRuns(provider, from, to).stream()
+                .max(Comparator.comparing(run -> Duration.between(run.start(), run.end())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        // Providers not loaded yet will read the committed state on first use
+        switch (event.type()) {
+            case CREATED, UPDATED -> {
+                ProviderAvailability availability = event.availability();
+                providers.update(event.providerId(), days -> days.replaceAvailability(availability.getId(),
+                        slotGenerator.occurrences(availability, days.first.minusDays(1), days.end),
+                        slotGenerator.generate(availability, days.first.minusDays(1), days.end)));
+            }
+            case DELETED -> providers.update(event.providerId(), days -> days.removeAvailability(event.availabilityId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotStatusChanged(SlotStatusChangedEvent event) {
+        providers.update(event.providerId(), days -> days.setSlot(event.slotId(), event.availabilityId(),
+                event.slotStart(), event.slotEnd(), event.status() != AppointmentSlot.SlotStatus.AVAILABLE));
+    }
+
+    private List<SlotGenerator.Occurrence> freeRuns(Provider provider, Instant from, Instant to) {
+        ProviderDays days = daysFor(provider);
+        if (days.covers(from, to)) return days.freeRuns(from, to);
+        // Outside the window: a one-off load of just the days asked about
+        LocalDate first = LocalDate.ofInstant(from, ZoneOffset.UTC);
+        LocalDate end = LocalDate.ofInstant(to, ZoneOffset.UTC).plusDays(1);
+        return load(provider, first, end).freeRuns(from, to);
+    }
+
+    private ProviderDays daysFor(Provider provider) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate first = today.minusDays(daysBehind);
+        LocalDate end = today.plusDays(daysAhead + 1L);
+        ProviderDays days = providers.get(provider.getId(), () -> load(provider, first, end));
+        if (days.first.equals(first)) return days;
+        // Loaded on an earlier day: the window has rolled on
+        providers.invalidate(provider.getId());
+        return providers.get(provider.getId(), () -> load(provider, first, end));
+    }
+
+    /** Days [first, end) in UTC. Occurrences are dated in their own timezone, so one extra local day is read on each side. */
+    private ProviderDays load(Provider provider, LocalDate first, LocalDate end) {
+        ProviderDays days = new ProviderDays(first, end);
+        for (ProviderAvailability availability : availabilityRepo.findByProvider(provider)) {
+            days.addAvailability(availability.getId(),
+                    slotGenerator.occurrences(availability, first.minusDays(1), end),
+                    slotGenerator.generate(availability, first.minusDays(1), end));
+        }
+        for (AppointmentSlot slot : slotRepo.findByProviderAndStatusNotAndSlotStartTimeBetween(provider, AppointmentSlot.SlotStatus.AVAILABLE,
+                first.minusDays(1).atStartOfDay(ZoneOffset.UTC), end.atStartOfDay(ZoneOffset.UTC))) {
+            days.setSlot(slot.getId(), slot.getAvailability().getId(),
+                    slot.getSlotStartTime().toInstant(), slot.getSlotEndTime().toInstant(), true);
+        }
+        return days;
+    }
+
+    /** Cuts [start, end) at UTC midnights and hands each piece over as seconds of its day. */
+    private static void forEachDay(Instant start, Instant end, DaySlice slice) {
+        long from = start.getEpochSecond();
+        long to = end.getEpochSecond();
+        while (from < to) {
+            long day = Math.floorDiv(from, SECONDS_PER_DAY);
+            long dayStart = day * SECONDS_PER_DAY;
+            long sliceEnd = Math.min(to, dayStart + SECONDS_PER_DAY);
+            slice.accept(LocalDate.ofEpochDay(day), (int) (from - dayStart), (int) (sliceEnd - dayStart));
+            from = sliceEnd;
+        }
+    }
+
+    @FunctionalInterface
+    private interface DaySlice {
+        void accept(LocalDate date, int startSecond, int endSecond);
+    }
+
+    private record BusySlot(UUID availabilityId, int startSecond, int endSecond) {}
+
+    /** The bitmaps plus the ranges behind them, so one availability can be taken out without a reload. */
+    private static final class Day {
+        final DayOccupancyMap windows = new DayOccupancyMap();
+        final DayOccupancyMap open = new DayOccupancyMap();
+        final DayOccupancyMap busy = new DayOccupancyMap();
+        final Map<UUID, List<int[]>> windowBits = new HashMap<>();
+        final Map<UUID, List<int[]>> openBits = new HashMap<>();
+        final Map<UUID, BusySlot> busySlots = new HashMap<>();
+
+        void addWindow(UUID availabilityId, int from, int to) {
+            windowBits.computeIfAbsent(availabilityId, id -> new ArrayList<>()).add(new int[]{from, to});
+            windows.set(from, to);
+        }
+
+        void addOpen(UUID availabilityId, int from, int to) {
+            openBits.computeIfAbsent(availabilityId, id -> new ArrayList<>()).add(new int[]{from, to});
+            open.set(from, to);
+        }
+
+        /** Drops the availability's windows, open slots and any busy slot not in {@code keptSlots}. */
+        void remove(UUID availabilityId, Set<UUID> keptSlots) {
+            if (windowBits.remove(availabilityId) != null) rebuild(windows, windowBits);
+            if (openBits.remove(availabilityId) != null) rebuild(open, openBits);
+            if (busySlots.entrySet().removeIf(e -> e.getValue().availabilityId().equals(availabilityId) && !keptSlots.contains(e.getKey()))) {
+                busy.clearAll();
+                for (BusySlot slot : busySlots.values()) {
+                    busy.set(DayOccupancyMap.floorBit(slot.startSecond()), DayOccupancyMap.ceilBit(slot.endSecond()));
+                }
+            }
+        }
+
+        boolean holds(UUID availabilityId) {
+            return windowBits.containsKey(availabilityId) || openBits.containsKey(availabilityId)
+                    || busySlots.values().stream().anyMatch(slot -> slot.availabilityId().equals(availabilityId));
+        }
+
+        boolean isEmpty() {
+            return windowBits.isEmpty() && openBits.isEmpty() && busySlots.isEmpty();
+        }
+
+        private static void rebuild(DayOccupancyMap map, Map<UUID, List<int[]>> ranges) {
+            map.clearAll();
+            for (List<int[]> bits : ranges.values()) {
+                for (int[] range : bits) map.set(range[0], range[1]);
+            }
+        }
+    }
+
+    private static final class ProviderDays {
+        final LocalDate first;
+        final LocalDate end;
+        private final Instant windowStart;
+        private final Instant windowEnd;
+        private final Map<LocalDate, Day> days = new HashMap<>();
+        private final Map<UUID, Set<LocalDate>> datesByAvailability = new HashMap<>();
+
+        ProviderDays(LocalDate first, LocalDate end) {
+            this.first = first;
+            this.end = end;
+            this.windowStart = first.atStartOfDay(ZoneOffset.UTC).toInstant();
+            this.windowEnd = end.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        boolean covers(Instant from, Instant to) {
+            return !from.isBefore(windowStart) && !to.isAfter(windowEnd);
+        }
+
+        synchronized void addAvailability(UUID availabilityId, List<SlotGenerator.Occurrence> occurrences, List<AppointmentSlot> slots) {
+            for (SlotGenerator.Occurrence occurrence : occurrences) {
+                slice(occurrence.start(), occurrence.end(), (date, start, end) ->
+                        day(date, availabilityId).addWindow(availabilityId, DayOccupancyMap.floorBit(start), DayOccupancyMap.ceilBit(end)));
+            }
+            for (AppointmentSlot slot : slots) {
+                slice(slot.getSlotStartTime().toInstant(), slot.getSlotEndTime().toInstant(), (date, start, end) -> {
+                    int from = DayOccupancyMap.ceilBit(start);
+                    int to = DayOccupancyMap.floorBit(end);
+                    if (from < to) day(date, availabilityId).addOpen(availabilityId, from, to);
+                });
+            }
+        }
+
+        /** Busy slots the new rule still generates (same id, same window) stay; the rest were deleted with the update. */
+        synchronized void replaceAvailability(UUID availabilityId, List<SlotGenerator.Occurrence> occurrences, List<AppointmentSlot> slots) {
+            Set<UUID> keptSlots = new HashSet<>();
+            for (AppointmentSlot slot : slots) keptSlots.add(slot.getId());
+            remove(availabilityId, keptSlots);
+            addAvailability(availabilityId, occurrences, slots);
+        }
+
+        synchronized void removeAvailability(UUID availabilityId) {
+            remove(availabilityId, Set.of());
+        }
+
+        synchronized void setSlot(UUID slotId, UUID availabilityId, Instant slotStart, Instant slotEnd, boolean busy) {
+            slice(slotStart, slotEnd, (date, start, end) -> {
+                if (busy) {
+                    Day day = day(date, availabilityId);
+                    day.busySlots.put(slotId, new BusySlot(availabilityId, start, end));
+                    day.busy.set(DayOccupancyMap.floorBit(start), DayOccupancyMap.ceilBit(end));
+                    return;
+                }
+                Day day = days.get(date);
+                if (day != null && day.busySlots.remove(slotId) != null) {
+                    day.busy.clearAll();
+                    for (BusySlot slot : day.busySlots.values()) {
+                        day.busy.set(DayOccupancyMap.floorBit(slot.startSecond()), DayOccupancyMap.ceilBit(slot.endSecond()));
+                    }
+                }
+            });
+        }
+
+        synchronized boolean intersectsWindows(List<SlotGenerator.Occurrence> occurrences) {
+            boolean[] hit = new boolean[1];
+            for (SlotGenerator.Occurrence occurrence : occurrences) {
+                slice(occurrence.start(), occurrence.end(), (date, start, end) -> {
+                    Day day = days.get(date);
+                    if (day != null && day.windows.intersects(DayOccupancyMap.floorBit(start), DayOccupancyMap.ceilBit(end))) {
+                        hit[0] = true;
+                    }
+                });
+                if (hit[0]) return true;
+            }
+            return false;
+        }
+
+        /** Maximal open-and-not-busy runs inside [from, to), joined across UTC midnight. */
+        synchronized List<SlotGenerator.Occurrence> freeRuns(Instant from, Instant to) {
+            List<SlotGenerator.Occurrence> runs = new ArrayList<>();
+            slice(from, to, (date, startSecond, endSecond) -> {
+                Day day = days.get(date);
+                if (day == null) return;
+                Instant dayStart = Instant.ofEpochSecond(date.toEpochDay() * SECONDS_PER_DAY);
+                for (int[] run : day.open.andNot(day.busy).runs()) {
+                    long start = Math.max(run[0] * (long) DayOccupancyMap.SECONDS_PER_BIT, startSecond);
+                    long end = Math.min(run[1] * (long) DayOccupancyMap.SECONDS_PER_BIT, endSecond);
+                    if (start >= end) continue;
+                    Instant runStart = dayStart.plusSeconds(start);
+                    Instant runEnd = dayStart.plusSeconds(end);
+                    int last = runs.size() - 1;
+                    if (last >= 0 && runs.get(last).end().equals(runStart)) {
+                        runs.set(last, new SlotGenerator.Occurrence(runs.get(last).start(), runEnd));
+                    } else {
+                        runs.add(new SlotGenerator.Occurrence(runStart, runEnd));
+                    }
+                }
+            });
+            return runs;
+        }
+
+        private void remove(UUID availabilityId, Set<UUID> keptSlots) {
+            Set<LocalDate> dates = datesByAvailability.remove(availabilityId);
+            if (dates == null) return;
+            for (LocalDate date : dates) {
+                Day day = days.get(date);
+                day.remove(availabilityId, keptSlots);
+                if (day.isEmpty()) {
+                    days.remove(date);
+                } else if (day.holds(availabilityId)) {
+                    datesByAvailability.computeIfAbsent(availabilityId, id -> new HashSet<>()).add(date);
+                }
+            }
+        }
+
+        /** forEachDay clipped to the window. */
+        private void slice(Instant start, Instant end, DaySlice slice) {
+            Instant from = start.isBefore(windowStart) ? windowStart : start;
+            Instant to = end.isAfter(windowEnd) ? windowEnd : end;
+            forEachDay(from, to, slice);
+        }
+
+        private Day day(LocalDate date, UUID availabilityId) {
+            datesByAvailability.computeIfAbsent(availabilityId, id -> new HashSet<>()).add(date);
+            return days.computeIfAbsent(date, d -> new Day());
+        }
+    }
+}
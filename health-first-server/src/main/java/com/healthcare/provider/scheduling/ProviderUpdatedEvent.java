@@ -0,0 +1,10 @@
+package com.healthcare.provider.scheduling;
+
+import com.healthcare.provider.entity.Provider;
+
+/**
+ * Published after a provider row is saved with changes. In-memory indexes that copy provider fields
+ * (name, specialization, clinic address) apply it once the surrounding transaction commits.
+ */
+public record ProviderUpdatedEvent(Provider provider) {
+}
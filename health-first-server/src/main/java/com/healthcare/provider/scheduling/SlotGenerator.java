@@ -0,0 +1,164 @@
+package com.healthcare.provider.scheduling;
+
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.id.UuidV7;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Expands an availability rule (date, start/end, slot and break duration, recurrence, timezone)
+ * into its appointment slots. Slot ids are derived from the availability id and the slot start,
+ * so a slot keeps the same id whether it is stored or computed on read.
+ */
+@Component
+public class SlotGenerator {
+
+    public List<AppointmentSlot> generate(ProviderAvailability availability) {
+        return generate(availability, null, null);
+    }
+
+    /**
+     * Generates only the slots of occurrences dated within [from, to], in the availability's own
+     * timezone. Null bounds leave that side open.
+     */
+    public List<AppointmentSlot> generate(ProviderAvailability availability, LocalDate from, LocalDate to) {
+        List<AppointmentSlot> slots = new ArrayList<>();
+        ZoneId zone = ZoneId.of(availability.getTimezone());
+        int slotDuration = availability.getSlotDuration();
+        LocalDate endDate = lastOccurrenceDate(availability);
+        if (to != null && to.isBefore(endDate)) endDate = to;
+        for (LocalDate date = firstOccurrenceOnOrAfter(availability, from); !date.isAfter(endDate); date = nextRecurrence(date, availability.getRecurrencePattern())) {
+            LocalTime slotStart = availability.getStartTime();
+            LocalTime slotEnd = availability.getEndTime();
+            while (!slotStart.plusMinutes(slotDuration).isAfter(slotEnd)) {
+                ZonedDateTime slotStartZdt = ZonedDateTime.of(date, slotStart, zone).withZoneSameInstant(ZoneOffset.UTC);
+                ZonedDateTime slotEndZdt = slotStartZdt.plusMinutes(slotDuration);
+                slots.add(AppointmentSlot.builder()
+                        .id(slotId(availability.getId(), slotStartZdt.toInstant()))
+                        .availability(availability)
+                        .provider(availability.getProvider())
+                        .slotStartTime(slotStartZdt)
+                        .slotEndTime(slotEndZdt)
+                        .status(AppointmentSlot.SlotStatus.AVAILABLE)
+                        .appointmentType(availability.getAppointmentType().name())
+                        .build());
+                LocalTime next = slotStart.plusMinutes(slotDuration + availability.getBreakDuration());
+                if (!next.isAfter(slotStart)) break; // wrapped past midnight
+                slotStart = next;
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Expands the rule into one UTC window per occurrence date, from the availability start to its end.
+     */
+    public List<Occurrence> occurrences(ProviderAvailability availability) {
+        return occurrences(availability, null, null);
+    }
+
+    /** Occurrences dated within [from, to] in the availability's own timezone, like {@link #generate(ProviderAvailability, LocalDate, LocalDate)}. */
+    public List<Occurrence> occurrences(ProviderAvailability availability, LocalDate from, LocalDate to) {
+        List<Occurrence> occurrences = new ArrayList<>();
+        ZoneId zone = ZoneId.of(availability.getTimezone());
+        LocalDate endDate = lastOccurrenceDate(availability);
+        if (to != null && to.isBefore(endDate)) endDate = to;
+        for (LocalDate date = firstOccurrenceOnOrAfter(availability, from); !date.isAfter(endDate); date = nextRecurrence(date, availability.getRecurrencePattern())) {
+            Instant start = ZonedDateTime.of(date, availability.getStartTime(), zone).toInstant();
+            Instant end = ZonedDateTime.of(date, availability.getEndTime(), zone).toInstant();
+            if (end.isAfter(start)) occurrences.add(new Occurrence(start, end));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Overlays stored exception rows (booked, blocked or cancelled slots) on the slots computed
+     * from the rule. Exceptions that no longer line up with the rule are kept so bookings stay visible.
+     */
+    public List<AppointmentSlot> merge(List<AppointmentSlot> generated, List<AppointmentSlot> exceptions) {
+        if (exceptions.isEmpty()) return generated;
+        Map<Instant, AppointmentSlot> byStart = new HashMap<>();
+        for (AppointmentSlot exception : exceptions) {
+            byStart.put(exception.getSlotStartTime().toInstant(), exception);
+        }
+        List<AppointmentSlot> merged = new ArrayList<>(generated.size() + exceptions.size());
+        for (AppointmentSlot slot : generated) {
+            AppointmentSlot exception = byStart.remove(slot.getSlotStartTime().toInstant());
+            merged.add(exception != null ? exception : slot);
+        }
+        if (!byStart.isEmpty()) {
+            merged.addAll(byStart.values());
+            merged.sort(Comparator.comparing(s -> s.getSlotStartTime().toInstant()));
+        }
+        return merged;
+    }
+
+    /**
+     * Matches the stored slots of an availability against a fresh generation by start and end instant.
+     * Matched slots are {@code kept} as stored; everything else ends up in {@code added} or {@code removed}.
+     */
+    public SlotDiff diff(List<AppointmentSlot> existing, List<AppointmentSlot> generated) {
+        Map<Instant, AppointmentSlot> byStart = new HashMap<>();
+        for (AppointmentSlot slot : existing) {
+            byStart.put(slot.getSlotStartTime().toInstant(), slot);
+        }
+        List<AppointmentSlot> slots = new ArrayList<>(generated.size());
+        List<AppointmentSlot> kept = new ArrayList<>();
+        List<AppointmentSlot> added = new ArrayList<>();
+        List<AppointmentSlot> removed = new ArrayList<>();
+        for (AppointmentSlot slot : generated) {
+            AppointmentSlot stored = byStart.remove(slot.getSlotStartTime().toInstant());
+            if (stored != null && stored.getSlotEndTime().toInstant().equals(slot.getSlotEndTime().toInstant())) {
+                slots.add(stored);
+                kept.add(stored);
+                continue;
+            }
+            if (stored != null) removed.add(stored);
+            slots.add(slot);
+            added.add(slot);
+        }
+        removed.addAll(byStart.values());
+        return new SlotDiff(slots, kept, added, removed);
+    }
+
+    public record SlotDiff(List<AppointmentSlot> slots, List<AppointmentSlot> kept, List<AppointmentSlot> added, List<AppointmentSlot> removed) {}
+
+    public LocalDate lastOccurrenceDate(ProviderAvailability availability) {
+        return availability.isRecurring() && availability.getRecurrenceEndDate() != null ? availability.getRecurrenceEndDate() : availability.getDate();
+    }
+
+    private LocalDate firstOccurrenceOnOrAfter(ProviderAvailability availability, LocalDate from) {
+        LocalDate date = availability.getDate();
+        if (from == null || !from.isAfter(date)) return date;
+        ProviderAvailability.RecurrencePattern pattern = availability.getRecurrencePattern();
+        if (pattern == null || pattern == ProviderAvailability.RecurrencePattern.DAILY) return from;
+        if (pattern == ProviderAvailability.RecurrencePattern.WEEKLY) {
+            return date.plusWeeks((ChronoUnit.DAYS.between(date, from) + 6) / 7);
+        }
+        // Monthly steps can drift at month ends, so walk them the same way generation does
+        while (date.isBefore(from)) date = nextRecurrence(date, pattern);
+        return date;
+    }
+
+    public record Occurrence(Instant start, Instant end) {}
+
+    // Stable for a given availability and start, and time-ordered by slot start for index locality
+    public UUID slotId(UUID availabilityId, Instant slotStart) {
+        return UuidV7.of(slotStart.toEpochMilli(), (availabilityId + ":" + slotStart.getEpochSecond()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate nextRecurrence(LocalDate date, ProviderAvailability.RecurrencePattern pattern) {
+        if (pattern == null) return date.plusDays(1); // default daily
+        switch (pattern) {
+            case DAILY: return date.plusDays(1);
+            case WEEKLY: return date.plusWeeks(1);
+            case MONTHLY: return date.plusMonths(1);
+            default: return date.plusDays(1);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.healthcare.provider.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the monthly partitions of appointment_slot (PostgreSQL profile) ahead of the calendar and
+ * moves whole months past the retention window to appointment_slot_archive. Both steps are SQL
+ * functions from the partitioning migration; this only decides which months and when. Every instance
+ * schedules it, so a run holds a PostgreSQL advisory lock and is skipped while another instance has it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "scheduling.slots.partitioning.enabled", havingValue = "true")
+public class SlotPartitionMaintenance {
+    private static final String COUNT_PARTITIONS = "select count(*) from pg_inherits where inhparent = ?::regclass";
+    private static final String DEFAULT_PARTITION_MONTHS = "select distinct date_trunc('month', slot_start_time at time zone 'UTC')::date "
+            + "from appointment_slot_default where slot_start_time < ?";
+    // The same key on every instance
+    private static final long LOCK_KEY = "appointment_slot_partition_maintenance".hashCode();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Counter created;
+    private final Counter archived;
+
+    public SlotPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                    @Value("${scheduling.slots.partitioning.months-ahead:12}") int monthsAhead,
+                                    @Value("${scheduling.slots.partitioning.retention-months:12}") int retentionMonths,
+                                    MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.created = Counter.builder("scheduling.slot.partitions.created").register(meterRegistry);
+        this.archived = Counter.builder("scheduling.slot.partitions.archived").register(meterRegistry);
+        Gauge.builder("scheduling.slot.partitions", this, m -> m.countPartitions("appointment_slot"))
+                .tag("table", "appointment_slot")
+                .register(meterRegistry);
+        Gauge.builder("scheduling.slot.partitions", this, m -> m.countPartitions("appointment_slot_archive"))
+                .tag("table", "appointment_slot_archive")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${scheduling.slots.partitioning.maintenance-interval:PT6H}",
+            initialDelayString = "${scheduling.slots.partitioning.maintenance-interval:PT6H}")
+    public void maintain() {
+        maintain(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    /** Runs on one connection: the advisory lock belongs to the session, and each statement still commits on its own. */
+    void maintain(LocalDate today) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            if (!Boolean.TRUE.equals(session.queryForObject("select pg_try_advisory_lock(?)", Boolean.class, LOCK_KEY))) {
+                log.debug("Slot partition maintenance skipped: another instance is running it");
+                return null;
+            }
+            try {
+                maintain(session, today);
+            } finally {
+                session.queryForObject("select pg_advisory_unlock(?)", Boolean.class, LOCK_KEY);
+            }
+            return null;
+        });
+    }
+
+    private void maintain(JdbcTemplate session, LocalDate today) {
+        LocalDate thisMonth = today.withDayOfMonth(1);
+        LocalDate horizon = thisMonth.plusMonths(monthsAhead + 1L);
+        // The months ahead, plus any earlier month whose slots are still waiting in the default partition
+        Set<LocalDate> months = new TreeSet<>(session.queryForList(DEFAULT_PARTITION_MONTHS, LocalDate.class,
+                horizon.atStartOfDay().atOffset(ZoneOffset.UTC)));
+        for (LocalDate month = thisMonth; month.isBefore(horizon); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        int createdNow = 0;
+        for (LocalDate month : months) {
+            Boolean wasCreated = session.queryForObject("select appointment_slot_ensure_partition(?)", Boolean.class, month);
+            if (Boolean.TRUE.equals(wasCreated)) createdNow++;
+        }
+        Integer archivedNow = session.queryForObject("select appointment_slot_archive_before(?)",
+                Integer.class, thisMonth.minusMonths(retentionMonths));
+        created.increment(createdNow);
+        archived.increment(archivedNow == null ? 0 : archivedNow);
+        if (createdNow > 0 || (archivedNow != null && archivedNow > 0)) {
+            log.info("Slot partitions: created {}, archived {} (months before {})",
+                    createdNow, archivedNow, thisMonth.minusMonths(retentionMonths));
+        }
+    }
+
+    private double countPartitions(String table) {
+        Long count = jdbcTemplate.queryForObject(COUNT_PARTITIONS, Long.class, table);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,18 @@
+package com.healthcare.provider.scheduling;
+
+import com.healthcare.provider.entity.AppointmentSlot;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published when a single slot changes status (booked, blocked, cancelled or released).
+ * In-memory scheduling indexes apply it once the surrounding transaction commits.
+ */
+public record SlotStatusChangedEvent(UUID providerId, UUID availabilityId, UUID slotId, Instant slotStart, Instant slotEnd,
+                                     AppointmentSlot.SlotStatus status) {
+    public static SlotStatusChangedEvent of(AppointmentSlot slot) {
+        return new SlotStatusChangedEvent(slot.getProvider().getId(), slot.getAvailability().getId(), slot.getId(),
+                slot.getSlotStartTime().toInstant(), slot.getSlotEndTime().toInstant(), slot.getStatus());
+    }
+}
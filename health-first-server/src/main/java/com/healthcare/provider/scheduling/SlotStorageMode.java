@@ -0,0 +1,8 @@
+package com.healthcare.provider.scheduling;
+
+public enum SlotStorageMode {
+    /** Every generated slot is stored as an appointment_slot row at create time. */
+    MATERIALIZED,
+    /** Open slots are computed from the availability rule on read; only booked, blocked or cancelled slots are stored. */
+    VIRTUAL
+}
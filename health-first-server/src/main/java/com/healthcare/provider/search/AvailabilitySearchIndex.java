@@ -0,0 +1,359 @@
+package com.healthcare.provider.search;
+
+import com.healthcare.provider.dto.AvailabilitySearchResponse;
+import com.healthcare.provider.dto.ProviderAvailabilityResponse;
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.repository.AppointmentSlotRepository;
+import com.healthcare.provider.repository.ProviderAvailabilityRepository;
+import com.healthcare.provider.scheduling.AvailabilityChangedEvent;
+import com.healthcare.provider.scheduling.ProviderUpdatedEvent;
+import com.healthcare.provider.scheduling.SlotGenerator;
+import com.healthcare.provider.scheduling.SlotStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory search index over availabilities. Keeps inverted indexes on provider specialization,
+ * location type, appointment type and insurance acceptance, plus a price-ordered map for maxPrice
+ * filters. Each entry holds a detached copy of the availability rule and the start instants of its
+ * slots that are not open, so open slots can be computed for any date window without touching the
+ * database.
+ * <p>
+ * Only availabilities with an occurrence in a forward window of dates are loaded, at startup and then
+ * as the window rolls forward; after that the index is kept current from availability, slot and
+ * provider events. Queries reaching outside the window are answered from the database instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilitySearchIndex {
+    private final ProviderAvailabilityRepository availabilityRepo;
+    private final AppointmentSlotRepository slotRepo;
+    private final SlotGenerator slotGenerator;
+
+    @Value("${scheduling.indexes.search.days-ahead:90}")
+    private int daysAhead = 90;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> bySpecialization = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> byLocationType = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> byAppointmentType = new ConcurrentHashMap<>();
+    private final Map<Boolean, Set<UUID>> byInsuranceAccepted = new ConcurrentHashMap<>();
+    private final NavigableMap<BigDecimal, Set<UUID>> byPrice = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Set<UUID>> byProvider = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Instant>> unavailableSlots = new ConcurrentHashMap<>();
+    // Every availability with an occurrence dated in [windowStart, windowEnd] is indexed; null until loaded
+    private volatile LocalDate windowStart;
+    private volatile LocalDate windowEnd;
+
+    public record Entry(UUID availabilityId,
+                        UUID providerId,
+                        ProviderAvailability rule,
+                        AvailabilitySearchResponse.ProviderInfo provider,
+                        String specialization,
+                        String locationType,
+                        String appointmentType,
+                        Boolean insuranceAccepted,
+                        BigDecimal price,
+                        LocalDate firstDate,
+                        LocalDate lastDate,
+                        ProviderAvailabilityResponse.Location location,
+                        ProviderAvailabilityResponse.Pricing pricing) {
+    }
+
+    public record Query(String specialization, String locationType, String appointmentType, Boolean insuranceAccepted,
+                        BigDecimal maxPrice, LocalDate from, LocalDate to) {
+    }
+
+    /** Matching entries and the slots of theirs that are not open, over the dates the query asked about. */
+    public record Matches(List<Entry> entries, Map<UUID, Set<Instant>> unavailableSlots) {
+        public boolean isOpen(UUID availabilityId, Instant slotStart) {
+            Set<Instant> starts = unavailableSlots.get(availabilityId);
+            return starts == null || !starts.contains(slotStart);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        // A day behind today: availability dates are local to their own timezone
+        LocalDate start = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+        LocalDate end = start.plusDays(daysAhead + 1L);
+        windowStart = start;
+        loadDates(start, end);
+        windowEnd = end;
+    }
+
+    /** Loads the dates that entered the window since the last run and drops availabilities that left it. */
+    @Scheduled(fixedDelayString = "${scheduling.indexes.search.roll-interval:PT1H}")
+    @Transactional(readOnly = true)
+    public void roll() {
+        if (windowEnd == null) return;
+        LocalDate start = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+        LocalDate end = start.plusDays(daysAhead + 1L);
+        if (end.isAfter(windowEnd)) {
+            loadDates(windowEnd.plusDays(1), end);
+            windowEnd = end;
+        }
+        if (start.isAfter(windowStart)) {
+            windowStart = start;
+            entries.values().removeIf(entry -> {
+                if (!entry.lastDate().isBefore(start)) return false;
+                unindex(entry);
+                unavailableSlots.remove(entry.availabilityId());
+                return true;
+            });
+            Instant cutoff = start.minusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            unavailableSlots.values().forEach(starts -> starts.removeIf(slotStart -> slotStart.isBefore(cutoff)));
+        }
+    }
+
+    private void loadDates(LocalDate from, LocalDate to) {
+        for (ProviderAvailability availability : availabilityRepo.findForIndexing(from, to)) {
+            put(availability);
+        }
+        for (AppointmentSlot slot : unavailableSlotsDated(from, to)) {
+            markSlot(slot.getAvailability().getId(), slot.getSlotStartTime().toInstant(), slot.getStatus());
+        }
+    }
+
+    // Local dates span a UTC day either side, depending on the availability's timezone
+    private List<AppointmentSlot> unavailableSlotsDated(LocalDate from, LocalDate to) {
+        return slotRepo.findByStatusNotAndSlotStartTimeBetween(AppointmentSlot.SlotStatus.AVAILABLE,
+                from.minusDays(1).atStartOfDay(ZoneOffset.UTC), to.plusDays(2).atStartOfDay(ZoneOffset.UTC));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> put(event.availability());
+            case DELETED -> remove(event.availabilityId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotStatusChanged(SlotStatusChangedEvent event) {
+        markSlot(event.availabilityId(), event.slotStart(), event.status());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProviderUpdated(ProviderUpdatedEvent event) {
+        Provider provider = event.provider();
+        for (UUID availabilityId : List.copyOf(postings(byProvider, provider.getId()))) {
+            Entry entry = entries.get(availabilityId);
+            if (entry != null) put(withProvider(entry, provider));
+        }
+    }
+
+    public void put(ProviderAvailability availability) {
+        Entry entry = toEntry(availability);
+        LocalDate start = windowStart;
+        // Already over; entries past the window end are kept, search does not rely on them
+        if (start != null && entry.lastDate().isBefore(start)) {
+            remove(entry.availabilityId());
+            return;
+        }
+        put(entry);
+    }
+
+    private void put(Entry entry) {
+        Entry previous = entries.put(entry.availabilityId(), entry);
+        if (previous != null) unindex(previous);
+        index(entry);
+    }
+
+    public void remove(UUID availabilityId) {
+        Entry previous = entries.remove(availabilityId);
+        if (previous != null) unindex(previous);
+        unavailableSlots.remove(availabilityId);
+    }
+
+    public void markSlot(UUID availabilityId, Instant slotStart, AppointmentSlot.SlotStatus status) {
+        if (status == AppointmentSlot.SlotStatus.AVAILABLE) {
+            Set<Instant> starts = unavailableSlots.get(availabilityId);
+            if (starts != null) starts.remove(slotStart);
+        } else {
+            unavailableSlots.computeIfAbsent(availabilityId, id -> ConcurrentHashMap.newKeySet()).add(slotStart);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Matches search(Query query) {
+        LocalDate start = windowStart;
+        LocalDate end = windowEnd;
+        if (query.from() != null && query.to() != null
+                && (end == null || query.from().isBefore(start) || query.to().isAfter(end))) {
+            return searchDatabase(query);
+        }
+        List<Entry> matches = new ArrayList<>();
+        for (UUID id : candidates(query)) {
+            Entry entry = entries.get(id);
+            if (entry != null && matches(entry, query)) matches.add(entry);
+        }
+        return new Matches(matches, unavailableSlots);
+    }
+
+    // Outside the window: a one-off read of just the dates asked about, in the caller's transaction
+    private Matches searchDatabase(Query query) {
+        List<Entry> matches = new ArrayList<>();
+        for (ProviderAvailability availability : availabilityRepo.findForIndexing(query.from(), query.to())) {
+            Entry entry = toEntry(availability);
+            if (matches(entry, query)) matches.add(entry);
+        }
+        Map<UUID, Set<Instant>> unavailable = new HashMap<>();
+        for (AppointmentSlot slot : unavailableSlotsDated(query.from(), query.to())) {
+            unavailable.computeIfAbsent(slot.getAvailability().getId(), id -> new HashSet<>()).add(slot.getSlotStartTime().toInstant());
+        }
+        return new Matches(matches, unavailable);
+    }
+
+    // Starts from the most selective posting list; every candidate is then checked against all filters
+    private Collection<UUID> candidates(Query query) {
+        Collection<UUID> smallest = null;
+        for (Set<UUID> postings : Arrays.asList(
+                query.specialization() != null ? postings(bySpecialization, normalize(query.specialization())) : null,
+                query.locationType() != null ? postings(byLocationType, normalize(query.locationType())) : null,
+                query.appointmentType() != null ? postings(byAppointmentType, normalize(query.appointmentType())) : null,
+                query.insuranceAccepted() != null ? postings(byInsuranceAccepted, query.insuranceAccepted()) : null)) {
+            if (postings != null && (smallest == null || postings.size() < smallest.size())) smallest = postings;
+        }
+        if (smallest != null) return smallest;
+        if (query.maxPrice() != null) {
+            List<UUID> priced = new ArrayList<>();
+            for (Set<UUID> ids : byPrice.headMap(query.maxPrice(), true).values()) priced.addAll(ids);
+            return priced;
+        }
+        return entries.keySet();
+    }
+
+    private boolean matches(Entry entry, Query query) {
+        if (query.specialization() != null && !normalize(query.specialization()).equals(entry.specialization())) return false;
+        if (query.locationType() != null && !normalize(query.locationType()).equals(entry.locationType())) return false;
+        if (query.appointmentType() != null && !normalize(query.appointmentType()).equals(entry.appointmentType())) return false;
+        if (query.insuranceAccepted() != null && !query.insuranceAccepted().equals(entry.insuranceAccepted())) return false;
+        if (query.maxPrice() != null && (entry.price() == null || entry.price().compareTo(query.maxPrice()) > 0)) return false;
+        if (query.to() != null && entry.firstDate().isAfter(query.to())) return false;
+        return query.from() == null || !entry.lastDate().isBefore(query.from());
+    }
+
+    private void index(Entry entry) {
+        add(byProvider, entry.providerId(), entry.availabilityId());
+        add(bySpecialization, entry.specialization(), entry.availabilityId());
+        add(byLocationType, entry.locationType(), entry.availabilityId());
+        add(byAppointmentType, entry.appointmentType(), entry.availabilityId());
+        add(byInsuranceAccepted, entry.insuranceAccepted(), entry.availabilityId());
+        add(byPrice, entry.price(), entry.availabilityId());
+    }
+
+    private void unindex(Entry entry) {
+        remove(byProvider, entry.providerId(), entry.availabilityId());
+        remove(bySpecialization, entry.specialization(), entry.availabilityId());
+        remove(byLocationType, entry.locationType(), entry.availabilityId());
+        remove(byAppointmentType, entry.appointmentType(), entry.availabilityId());
+        remove(byInsuranceAccepted, entry.insuranceAccepted(), entry.availabilityId());
+        remove(byPrice, entry.price(), entry.availabilityId());
+    }
+
+    private static <K> Set<UUID> postings(Map<K, Set<UUID>> index, K key) {
+        return index.getOrDefault(key, Set.of());
+    }
+
+    private static <K> void add(Map<K, Set<UUID>> index, K key, UUID id) {
+        if (key == null) return;
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private static <K> void remove(Map<K, Set<UUID>> index, K key, UUID id) {
+        if (key == null) return;
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Entry toEntry(ProviderAvailability availability) {
+        Provider provider = availability.getProvider();
+        ProviderAvailability.Location location = availability.getLocation();
+        ProviderAvailability.Pricing pricing = availability.getPricing();
+        // Detached copy of the rule so the index never holds managed entities
+        ProviderAvailability rule = ProviderAvailability.builder()
+                .id(availability.getId())
+                .date(availability.getDate())
+                .startTime(availability.getStartTime())
+                .endTime(availability.getEndTime())
+                .timezone(availability.getTimezone())
+                .isRecurring(availability.isRecurring())
+                .recurrencePattern(availability.getRecurrencePattern())
+                .recurrenceEndDate(availability.getRecurrenceEndDate())
+                .slotDuration(availability.getSlotDuration())
+                .breakDuration(availability.getBreakDuration())
+                .appointmentType(availability.getAppointmentType())
+                .specialRequirements(availability.getSpecialRequirements() != null ? List.copyOf(availability.getSpecialRequirements()) : null)
+                .build();
+        return new Entry(
+                availability.getId(),
+                provider.getId(),
+                rule,
+                providerInfo(provider),
+                normalize(provider.getSpecialization()),
+                location != null && location.getType() != null ? normalize(location.getType().name()) : null,
+                normalize(availability.getAppointmentType().name()),
+                pricing != null ? pricing.getInsuranceAccepted() : null,
+                pricing != null ? pricing.getBaseFee() : null,
+                availability.getDate(),
+                slotGenerator.lastOccurrenceDate(availability),
+                location == null ? null : ProviderAvailabilityResponse.Location.builder()
+                        .type(location.getType().name().toLowerCase())
+                        .address(location.getAddress())
+                        .roomNumber(location.getRoomNumber())
+                        .build(),
+                pricing == null ? null : ProviderAvailabilityResponse.Pricing.builder()
+                        .baseFee(pricing.getBaseFee())
+                        .insuranceAccepted(pricing.getInsuranceAccepted())
+                        .currency(pricing.getCurrency())
+                        .build());
+    }
+
+    private static Entry withProvider(Entry entry, Provider provider) {
+        return new Entry(entry.availabilityId(), entry.providerId(), entry.rule(), providerInfo(provider),
+                normalize(provider.getSpecialization()), entry.locationType(), entry.appointmentType(),
+                entry.insuranceAccepted(), entry.price(), entry.firstDate(), entry.lastDate(), entry.location(), entry.pricing());
+    }
+
+    private static AvailabilitySearchResponse.ProviderInfo providerInfo(Provider provider) {
+        return AvailabilitySearchResponse.ProviderInfo.builder()
+                .id(provider.getId())
+                .name(provider.getFirstName() + " " + provider.getLastName())
+                .specialization(provider.getSpecialization())
+                .yearsOfExperience(provider.getYearsOfExperience())
+                .clinicAddress(formatAddress(provider.getClinicAddress()))
+                .build();
+    }
+
+    private static String formatAddress(Provider.ClinicAddress address) {
+        if (address == null) return null;
+        return address.getStreet() + ", " + address.getCity() + ", " + address.getState() + " " + address.getZip();
+    }
+}
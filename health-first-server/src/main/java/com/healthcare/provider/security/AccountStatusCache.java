@@ -0,0 +1,55 @@
+package com.healthcare.provider.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.repository.PatientRepository;
+import com.healthcare.provider.repository.ProviderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Revocation check for claims-based authentication, on by default. A token is only accepted while
+ * its account is still active; the answer is looked up at most once per account per TTL, so
+ * deactivation takes effect within that window.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountStatusCache {
+    private final ProviderRepository providerRepository;
+    private final PatientRepository patientRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.revocation-check.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.revocation-check.ttl:30s}")
+    private Duration ttl;
+
+    private Cache<UUID, Boolean> activeAccounts;
+
+    @PostConstruct
+    void init() {
+        activeAccounts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(100_000)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, activeAccounts, "jwt.account-status");
+    }
+
+    public boolean isActive(ClaimsPrincipal principal) {
+        if (!enabled) return true;
+        return activeAccounts.get(principal.id(), id -> principal.isPatient()
+                ? patientRepository.findById(id).map(Patient::isActive).orElse(false)
+                : providerRepository.findById(id).map(Provider::isActive).orElse(false));
+    }
+}
@@ -0,0 +1,60 @@
+package com.healthcare.provider.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose cost is either pinned or {@link #calibrated} at startup against a latency
+ * target. {@link #upgradeEncoding} reports hashes at a lower cost, so callers can rehash them on the
+ * next successful login; stronger hashes are left alone, so instances that calibrate differently do
+ * not keep rehashing each other's passwords.
+ */
+@Slf4j
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Times hashing at {@code minStrength} and picks the highest cost in [minStrength, maxStrength]
+     * whose estimated latency stays within {@code target}; each extra cost step doubles the work.
+     */
+    public static AdaptiveBCryptPasswordEncoder calibrated(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        int strength = minStrength;
+        while (strength < maxStrength && best * (1L << (strength + 1 - minStrength)) <= target.toNanos()) {
+            strength++;
+        }
+        log.info("BCrypt cost {} selected ({} ms at cost {}, target {} ms)",
+                strength, best / 1_000_000, minStrength, target.toMillis());
+        return new AdaptiveBCryptPasswordEncoder(strength);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) return false;
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+}
@@ -0,0 +1,11 @@
+package com.healthcare.provider.security;
+
+/**
+ * How {@link JwtAuthenticationFilter} turns a verified token into an authentication.
+ * CLAIMS builds a {@link ClaimsPrincipal} from the signed claims without touching the database;
+ * LOOKUP loads the provider or patient entity on every request.
+ */
+public enum AuthenticationMode {
+    CLAIMS,
+    LOOKUP
+}
@@ -0,0 +1,52 @@
+package com.healthcare.provider.security;
+
+import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.entity.Provider;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Authenticated user as described by the signed token claims. Provider tokens carry a
+ * verification status; patient tokens leave it null.
+ */
+public record ClaimsPrincipal(UUID id, String role, String email, String verificationStatus) implements Principal {
+    public static final String ROLE_PROVIDER = "PROVIDER";
+    public static final String ROLE_PATIENT = "PATIENT";
+
+    public static ClaimsPrincipal from(Claims claims) {
+        String role = claims.get("role", String.class);
+        if (role == null) throw new IllegalArgumentException("Token has no role claim");
+        return new ClaimsPrincipal(UUID.fromString(claims.getSubject()), role.toUpperCase(),
+                claims.get("email", String.class), claims.get("verification_status", String.class));
+    }
+
+    /** Id of the authenticated account, whether the principal came from the claims or from the account lookup. */
+    public static UUID accountId(Authentication authentication) {
+        Object principal = authentication == null ? null : authentication.getPrincipal();
+        if (principal instanceof ClaimsPrincipal claims) return claims.id();
+        if (principal instanceof Provider provider) return provider.getId();
+        if (principal instanceof Patient patient) return patient.getId();
+        throw new AccessDeniedException("Not authenticated as an account");
+    }
+
+    public boolean isProvider() {
+        return ROLE_PROVIDER.equals(role);
+    }
+
+    public boolean isPatient() {
+        return ROLE_PATIENT.equals(role);
+    }
+
+    public String authority() {
+        return "ROLE_" + role;
+    }
+
+    @Override
+    public String getName() {
+        return id.toString();
+    }
+}
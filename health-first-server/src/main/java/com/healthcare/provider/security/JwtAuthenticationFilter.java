@@ -1,13 +1,13 @@
 package com.healthcare.provider.security;
 
-import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.repository.PatientRepository;
 import com.healthcare.provider.repository.ProviderRepository;
-import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,6 +17,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Optional;
 
 @Component
@@ -24,29 +25,46 @@ import java.util.Optional;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider jwtTokenProvider;
     private final ProviderRepository providerRepository;
+    private final PatientRepository patientRepository;
+    private final AccountStatusCache accountStatusCache;
+
+    @Value("${jwt.authentication-mode:claims}")
+    private AuthenticationMode authenticationMode;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String token = getJwtFromRequest(request);
-        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-            try {
-                java.util.UUID providerId = jwtTokenProvider.getProviderIdFromToken(token);
-                Optional<Provider> providerOpt = providerRepository.findById(providerId);
-                if (providerOpt.isPresent()) {
-                    Provider provider = providerOpt.get();
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            provider, null, java.util.Collections.singletonList(new SimpleGrantedAuthority("ROLE_PROVIDER")));
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
-            } catch (JwtException | IllegalArgumentException e) {
-                // Invalid token, do nothing (unauthenticated)
+        // One verification per request; repeat tokens are answered from the claims cache
+        Optional<VerifiedToken> verified = StringUtils.hasText(token) ? jwtTokenProvider.verify(token) : Optional.empty();
+        if (verified.isPresent()) {
+            ClaimsPrincipal principal = verified.get().principal();
+            UsernamePasswordAuthenticationToken authentication = authenticationMode == AuthenticationMode.CLAIMS
+                    ? fromClaims(principal)
+                    : fromLookup(principal);
+            if (authentication != null) {
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
         filterChain.doFilter(request, response);
     }
 
+    private UsernamePasswordAuthenticationToken fromClaims(ClaimsPrincipal principal) {
+        if (!accountStatusCache.isActive(principal)) return null;
+        return new UsernamePasswordAuthenticationToken(
+                principal, null, Collections.singletonList(new SimpleGrantedAuthority(principal.authority())));
+    }
+
+    private UsernamePasswordAuthenticationToken fromLookup(ClaimsPrincipal principal) {
+        Optional<?> account = principal.isPatient()
+                ? patientRepository.findById(principal.id())
+                : providerRepository.findById(principal.id());
+        return account.map(entity -> new UsernamePasswordAuthenticationToken(
+                entity, null, Collections.singletonList(new SimpleGrantedAuthority(principal.authority()))))
+                .orElse(null);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -54,4 +72,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-} 
\ No newline at end of file
+}
@@ -1,28 +1,80 @@
 package com.healthcare.provider.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.healthcare.provider.entity.Provider;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
-import java.util.Map;
+import java.util.HexFormat;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
+    public static final int PATIENT_TOKEN_EXPIRY_SECONDS = 30 * 60;
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${jwt.secret:defaultSecretKey12345678901234567890}")
     private String jwtSecret;
 
     @Value("${jwt.expiry:3600000}")
     private long jwtExpiryMs;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    private Key signingKey;
+    private JwtParser parser;
+    // Verified tokens keyed by a SHA-256 digest of the token, each entry living until the token's exp
+    private Cache<String, VerifiedToken> claimsCache;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remainingMs = token.expiresAt().toEpochMilli() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
+    }
+
     public String generateToken(Provider provider) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiryMs);
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
         return Jwts.builder()
                 .setSubject(provider.getId().toString())
                 .setIssuedAt(now)
@@ -31,28 +83,41 @@ public class JwtTokenProvider {
                 .claim("role", "PROVIDER")
                 .claim("specialization", provider.getSpecialization())
                 .claim("verification_status", provider.getVerificationStatus().name())
-                .signWith(key, SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
+    /**
+     * The verified token, or empty if it is malformed, forged, expired or carries no role. Parses
+     * and checks the signature at most once per token until it expires.
+     */
+    public Optional<VerifiedToken> verify(String token) {
         try {
-            Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return Optional.of(getVerifiedToken(token));
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
     public UUID getProviderIdFromToken(String token) {
-        Claims claims = getClaims(token);
-        return UUID.fromString(claims.getSubject());
+        return getVerifiedToken(token).principal().id();
     }
 
-    public Claims getClaims(String token) {
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    private VerifiedToken getVerifiedToken(String token) {
+        String digest = digest(token);
+        VerifiedToken verified = claimsCache.getIfPresent(digest);
+        if (verified != null) return verified;
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        verified = new VerifiedToken(ClaimsPrincipal.from(claims), expiration != null ? expiration.toInstant() : null);
+        if (expiration != null) {
+            claimsCache.put(digest, verified);
+        }
+        return verified;
     }
 
     public long getJwtExpiryMs() {
@@ -62,14 +127,23 @@ public class JwtTokenProvider {
     public String generateTokenForPatient(com.healthcare.provider.entity.Patient patient, int expirySeconds) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirySeconds * 1000L);
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
         return Jwts.builder()
                 .setSubject(patient.getId().toString())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .claim("email", patient.getEmail())
                 .claim("role", patient.getRole())
-                .signWith(key, SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-} 
\ No newline at end of file
+
+    private static String digest(String token) {
+        if (token == null) throw new IllegalArgumentException("Token must not be null");
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
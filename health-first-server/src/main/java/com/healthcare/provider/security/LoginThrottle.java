@@ -0,0 +1,123 @@
+package com.healthcare.provider.security;
+
+import com.healthcare.provider.exception.LoginThrottledException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket throttling of login attempts per email and per client address, checked before any
+ * database or BCrypt work. Buckets live in lock-striped, access-ordered maps and each stripe evicts
+ * its least recently used bucket once full, so memory stays bounded however many keys are seen.
+ */
+@Component
+public class LoginThrottle {
+    private static final int STRIPES = 64;
+
+    @Value("${security.login-throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.login-throttle.email.capacity:5}")
+    private int emailCapacity;
+
+    @Value("${security.login-throttle.email.refill-period:1m}")
+    private Duration emailRefillPeriod;
+
+    @Value("${security.login-throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${security.login-throttle.ip.refill-period:1m}")
+    private Duration ipRefillPeriod;
+
+    @Value("${security.login-throttle.max-keys:100000}")
+    private int maxKeys;
+
+    private BucketTable emailBuckets;
+    private BucketTable ipBuckets;
+
+    @PostConstruct
+    void init() {
+        emailBuckets = new BucketTable(emailCapacity, emailRefillPeriod, maxKeys);
+        ipBuckets = new BucketTable(ipCapacity, ipRefillPeriod, maxKeys);
+    }
+
+    /** Takes one attempt from the address and the email bucket, or throws if either is empty. */
+    public void check(String email, String clientAddress) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        long wait = ipBuckets.tryAcquire(clientAddress, now);
+        if (wait == 0 && email != null) {
+            wait = emailBuckets.tryAcquire(email.trim().toLowerCase(Locale.ROOT), now);
+        }
+        if (wait > 0) {
+            throw new LoginThrottledException("Too many login attempts, please retry later",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    private static final class BucketTable {
+        private final int capacity;
+        private final double nanosPerToken;
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        BucketTable(int capacity, Duration refillPeriod, int maxKeys) {
+            this.capacity = capacity;
+            this.nanosPerToken = (double) refillPeriod.toNanos() / capacity;
+            int perStripe = Math.max(1, maxKeys / STRIPES);
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(perStripe);
+            }
+        }
+
+        /** 0 if a token was taken, otherwise nanoseconds until the next one. */
+        long tryAcquire(String key, long now) {
+            int hash = key.hashCode();
+            Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+            synchronized (stripe) {
+                Bucket bucket = stripe.get(key);
+                if (bucket == null) {
+                    bucket = new Bucket(capacity, now);
+                    stripe.put(key, bucket);
+                }
+                double tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) / nanosPerToken);
+                bucket.updatedAt = now;
+                if (tokens >= 1) {
+                    bucket.tokens = tokens - 1;
+                    return 0;
+                }
+                bucket.tokens = tokens;
+                return (long) Math.ceil((1 - tokens) * nanosPerToken);
+            }
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
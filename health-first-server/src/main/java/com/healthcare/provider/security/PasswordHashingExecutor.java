@@ -0,0 +1,104 @@
+package com.healthcare.provider.security;
+
+import com.healthcare.provider.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a fixed pool sized to the core count, so a login
+ * burst cannot take every request thread's CPU. The queue is bounded; once it is full new work is
+ * rejected with {@link PasswordHashingRejectedException} instead of waiting, and so is work that
+ * has not finished within the wait timeout.
+ */
+@Component
+@RequiredArgsConstructor
+public class PasswordHashingExecutor {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${security.password-hashing.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${security.password-hashing.wait-timeout:5s}")
+    private Duration waitTimeout;
+
+    private final Map<String, Timer> durations = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+    private Timer queueWait;
+    private Counter rejected;
+    private Counter timedOut;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        queueWait = Timer.builder("password.hashing.queue.wait")
+                .description("Time a hashing task waited for a free thread")
+                .register(meterRegistry);
+        rejected = Counter.builder("password.hashing.rejected")
+                .description("Hashing tasks refused because the queue was full")
+                .register(meterRegistry);
+        timedOut = Counter.builder("password.hashing.timed-out")
+                .description("Hashing tasks abandoned after the wait timeout")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /** Runs the task on the hashing pool and waits for its result on the calling thread. */
+    public <T> T execute(String operation, Supplier<T> task) {
+        Timer duration = durations.computeIfAbsent(operation, op -> Timer.builder("password.hashing.duration")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", op)
+                .register(meterRegistry));
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return duration.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Too many concurrent sign-in requests, please retry shortly", e);
+        }
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Drops the task if it is still queued; a running hash cannot be interrupted and is discarded
+            future.cancel(true);
+            executor.purge();
+            timedOut.increment();
+            throw new PasswordHashingRejectedException("Too many concurrent sign-in requests, please retry shortly", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.healthcare.provider.security;
+
+import com.healthcare.provider.entity.RefreshToken;
+import com.healthcare.provider.id.UuidV7;
+import com.healthcare.provider.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Single-use refresh tokens of the form {@code <id>.<secret>}. Live tokens are kept in memory as
+ * id, subject, secret hash and expiry, and persisted so they survive restarts; redeeming one marks
+ * its row revoked with a conditional update, so a token cannot be used twice even across instances.
+ * Issuing joins the caller's transaction, so a rotation (consume, then issue) commits or rolls back as one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository repository;
+    private final Map<UUID, Entry> active = new ConcurrentHashMap<>();
+
+    @Value("${jwt.refresh-token.ttl:14d}")
+    private Duration ttl;
+
+    public record Entry(UUID subjectId, RefreshToken.SubjectType subjectType, byte[] hash, Instant expiresAt) {
+        static Entry of(RefreshToken token) {
+            return new Entry(token.getSubjectId(), token.getSubjectType(), HexFormat.of().parseHex(token.getTokenHash()), token.getExpiresAt());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<RefreshToken> tokens = repository.streamActive(Instant.now())) {
+            tokens.forEach(token -> active.put(token.getId(), Entry.of(token)));
+        }
+        log.info("Loaded {} active refresh tokens", active.size());
+    }
+
+    public String issue(UUID subjectId, RefreshToken.SubjectType subjectType) {
+        UUID id = UuidV7.next();
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String encodedSecret = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+        byte[] hash = sha256(encodedSecret);
+        Instant expiresAt = Instant.now().plus(ttl);
+        repository.save(RefreshToken.builder()
+                .id(id)
+                .subjectId(subjectId)
+                .subjectType(subjectType)
+                .tokenHash(HexFormat.of().formatHex(hash))
+                .expiresAt(expiresAt)
+                .build());
+        Entry entry = new Entry(subjectId, subjectType, hash, expiresAt);
+        // Only once the row is committed; until then other instances could not redeem it either
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    active.put(id, entry);
+                }
+            });
+        } else {
+            active.put(id, entry);
+        }
+        return id + "." + encodedSecret;
+    }
+
+    /**
+     * Redeems the token, returning whom it was issued to. Empty if it is malformed, unknown, expired,
+     * already used or presented with the wrong secret; in each of those cases a token with that id
+     * cannot be presented again, since a wrong secret revokes it as well.
+     */
+    @Transactional
+    public Optional<Entry> consume(String token) {
+        int dot = token == null ? -1 : token.indexOf('.');
+        if (dot < 0) return Optional.empty();
+        UUID id;
+        try {
+            id = UUID.fromString(token.substring(0, dot));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        // A miss may be a token issued by another instance since this one started
+        Entry entry = active.get(id);
+        if (entry == null) {
+            entry = repository.findById(id).filter(t -> !t.isRevoked()).map(Entry::of).orElse(null);
+        }
+        if (entry == null) return Optional.empty();
+        active.remove(id);
+        if (!MessageDigest.isEqual(entry.hash(), sha256(token.substring(dot + 1)))) {
+            // Someone holds the id without the secret: do not leave it open to further guesses
+            repository.revoke(id);
+            log.warn("Refresh token {} presented with a wrong secret; revoked", id);
+            return Optional.empty();
+        }
+        if (repository.revoke(id) == 0 || !entry.expiresAt().isAfter(Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval:PT1H}")
+    @Transactional
+    public void purge() {
+        Instant now = Instant.now();
+        active.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        int deleted = repository.deleteRevokedOrExpired(now);
+        if (deleted > 0) log.debug("Purged {} used or expired refresh tokens", deleted);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
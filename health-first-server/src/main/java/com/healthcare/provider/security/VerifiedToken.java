@@ -0,0 +1,10 @@
+package com.healthcare.provider.security;
+
+import java.time.Instant;
+
+/**
+ * The fields of a verified token that authentication uses. Immutable, so one instance can be
+ * cached and handed to every request presenting the same token.
+ */
+public record VerifiedToken(ClaimsPrincipal principal, Instant expiresAt) {
+}
@@ -1,5 +1,7 @@
 package com.healthcare.provider.service;
 
+import com.healthcare.provider.dto.SlotBookingRequest;
+import com.healthcare.provider.dto.SlotBookingResponse;
 import com.healthcare.provider.entity.AppointmentSlot;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -10,5 +12,5 @@ public interface AppointmentSlotService {
     List<AppointmentSlot> getSlotsByProvider(UUID providerId, ZonedDateTime start, ZonedDateTime end);
     AppointmentSlot updateSlot(UUID slotId, AppointmentSlot slotUpdate);
     void deleteSlot(UUID slotId, boolean deleteRecurring, String reason);
-    // Booking integration methods can be added here
+    SlotBookingResponse bookSlot(UUID slotId, UUID patientId, SlotBookingRequest request);
 } 
\ No newline at end of file
@@ -1,16 +1,21 @@
 package com.healthcare.provider.service;
 
+import com.healthcare.provider.dto.AvailabilityDeleteResponse;
+import com.healthcare.provider.dto.FreeWindowsResponse;
 import com.healthcare.provider.dto.ProviderAvailabilityRequest;
 import com.healthcare.provider.dto.ProviderAvailabilityResponse;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ProviderAvailabilityService {
     ProviderAvailabilityResponse createAvailability(UUID providerId, ProviderAvailabilityRequest request);
     ProviderAvailabilityResponse updateAvailability(UUID providerId, UUID availabilityId, ProviderAvailabilityRequest request);
-    void deleteAvailability(UUID providerId, UUID availabilityId, boolean deleteRecurring, String reason);
+    AvailabilityDeleteResponse deleteAvailability(UUID providerId, UUID availabilityId, boolean deleteRecurring, String reason);
     ProviderAvailabilityResponse getAvailability(UUID providerId, UUID availabilityId);
     List<ProviderAvailabilityResponse> getAvailabilities(UUID providerId, LocalDate startDate, LocalDate endDate, String status, String appointmentType, String timezone);
+    FreeWindowsResponse getFreeWindows(UUID providerId, LocalDate date, int durationMinutes, String timezone);
+    void streamAvailabilities(UUID providerId, LocalDate startDate, LocalDate endDate, String status, Consumer<ProviderAvailabilityResponse> sink);
 } 
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.healthcare.provider.service;
+
+import com.healthcare.provider.dto.TokenRefreshRequest;
+import com.healthcare.provider.service.dto.TokenRefreshResponse;
+
+public interface TokenRefreshService {
+    TokenRefreshResponse refresh(TokenRefreshRequest request);
+    void revoke(TokenRefreshRequest request);
+}
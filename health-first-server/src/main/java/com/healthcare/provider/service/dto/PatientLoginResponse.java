@@ -16,6 +16,7 @@ public class PatientLoginResponse {
     private boolean success;
     private String message;
     private String accessToken;
+    private String refreshToken;
     private int expiresIn;
     private String tokenType;
     private Patient patient;
@@ -20,6 +20,7 @@ public class ProviderLoginResponse {
     @Builder
     public static class Data {
         private String accessToken;
+        private String refreshToken;
         private int expiresIn;
         private String tokenType;
         private Provider provider;
@@ -0,0 +1,21 @@
+package com.healthcare.provider.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRefreshResponse {
+    private boolean success;
+    private String message;
+    private String accessToken;
+    private String refreshToken;
+    private int expiresIn;
+    private String tokenType;
+}
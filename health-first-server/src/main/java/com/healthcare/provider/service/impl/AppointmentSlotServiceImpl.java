@@ -0,0 +1,171 @@
+package com.healthcare.provider.service.impl;
+
+import com.healthcare.provider.dto.SlotBookingRequest;
+import com.healthcare.provider.dto.SlotBookingResponse;
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.exception.ProviderNotFoundException;
+import com.healthcare.provider.exception.SlotNotFoundException;
+import com.healthcare.provider.exception.SlotUnavailableException;
+import com.healthcare.provider.id.UuidV7;
+import com.healthcare.provider.repository.AppointmentSlotRepository;
+import com.healthcare.provider.repository.PatientRepository;
+import com.healthcare.provider.repository.ProviderAvailabilityRepository;
+import com.healthcare.provider.repository.ProviderRepository;
+import com.healthcare.provider.scheduling.AvailabilityChangedEvent;
+import com.healthcare.provider.scheduling.SlotGenerator;
+import com.healthcare.provider.scheduling.SlotStatusChangedEvent;
+import com.healthcare.provider.scheduling.SlotStorageMode;
+import com.healthcare.provider.service.AppointmentSlotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AppointmentSlotServiceImpl implements AppointmentSlotService {
+    private final AppointmentSlotRepository slotRepo;
+    private final ProviderAvailabilityRepository availabilityRepo;
+    private final ProviderRepository providerRepo;
+    private final PatientRepository patientRepo;
+    private final SlotGenerator slotGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${scheduling.slots.mode:materialized}")
+    private SlotStorageMode slotStorageMode = SlotStorageMode.MATERIALIZED;
+
+    @Override
+    @Transactional(readOnly = true)
+    public AppointmentSlot getSlot(UUID slotId) {
+        return slotRepo.findSlot(slotId).orElseThrow(() -> new SlotNotFoundException("Slot not found: " + slotId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentSlot> getSlotsByProvider(UUID providerId, ZonedDateTime start, ZonedDateTime end) {
+        Provider provider = providerRepo.findById(providerId)
+                .orElseThrow(() -> new ProviderNotFoundException("Provider not found: " + providerId));
+        return slotRepo.findByProviderAndSlotStartTimeBetween(provider, start, end);
+    }
+
+    @Override
+    @Transactional
+    public AppointmentSlot updateSlot(UUID slotId, AppointmentSlot slotUpdate) {
+        AppointmentSlot slot = getSlot(slotId);
+        if (slotUpdate.getAppointmentType() != null) {
+            slot.setAppointmentType(slotUpdate.getAppointmentType());
+        }
+        if (slotUpdate.getStatus() != null && slotUpdate.getStatus() != slot.getStatus()) {
+            slot.setStatus(slotUpdate.getStatus());
+            eventPublisher.publishEvent(SlotStatusChangedEvent.of(slot));
+        }
+        return slot;
+    }
+
+    @Override
+    @Transactional
+    public void deleteSlot(UUID slotId, boolean deleteRecurring, String reason) {
+        AppointmentSlot slot = getSlot(slotId);
+        ProviderAvailability availability = slot.getAvailability();
+        List<UUID> ids;
+        if (deleteRecurring && availability.isRecurring()) {
+            // The same time of day on this and every later occurrence of the series
+            ZoneId zone = ZoneId.of(availability.getTimezone());
+            LocalTime time = slot.getSlotStartTime().withZoneSameInstant(zone).toLocalTime();
+            ids = slotRepo.findByAvailability(availability).stream()
+                    .filter(s -> !s.getSlotStartTime().isBefore(slot.getSlotStartTime()))
+                    .filter(s -> s.getSlotStartTime().withZoneSameInstant(zone).toLocalTime().equals(time))
+                    .map(AppointmentSlot::getId)
+                    .toList();
+        } else {
+            ids = List.of(slotId);
+        }
+        int deleted = slotRepo.deleteAllByIdIn(ids);
+        log.info("Deleted {} slots of availability {} (reason: {})", deleted, availability.getId(), reason);
+        // Removed slots have no status event of their own; the indexes rebuild the availability instead
+        eventPublisher.publishEvent(AvailabilityChangedEvent.updated(availability));
+    }
+
+    @Override
+    @Transactional
+    public SlotBookingResponse bookSlot(UUID slotId, UUID patientId, SlotBookingRequest request) {
+        Patient patient = patientRepo.findById(patientId)
+                .filter(Patient::isActive)
+                .orElseThrow(() -> new IllegalArgumentException("Patient not found or inactive"));
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        // No read before the write and no row lock: the status check and the claim are one statement
+        String reference = newBookingReference();
+        if (slotRepo.transition(slotId, AppointmentSlot.SlotStatus.AVAILABLE, AppointmentSlot.SlotStatus.BOOKED, patient, reference, now) == 1) {
+            return booked(slotRepo.findSlot(slotId).orElseThrow());
+        }
+        AppointmentSlot existing = slotRepo.findSlot(slotId).orElse(null);
+        if (existing != null) {
+            throw new SlotUnavailableException(existing.getSlotStartTime().isAfter(now)
+                    ? "Slot is already " + existing.getStatus().name().toLowerCase()
+                    : "Slot has already started");
+        }
+        if (slotStorageMode != SlotStorageMode.VIRTUAL) {
+            throw new SlotNotFoundException("Slot not found: " + slotId);
+        }
+        return booked(insertVirtualSlot(slotId, request.getAvailabilityId(), patient, reference, now));
+    }
+
+    /** Issued per booking from a SecureRandom UUID, so it cannot be worked out from the slot id or the time. */
+    private static String newBookingReference() {
+        return UuidV7.toBase32(UUID.randomUUID());
+    }
+
+    /**
+     * Open slots in virtual mode have no row to update, so the claim is the insert of the booked row:
+     * slot ids are derived from the availability and start time, and the primary key lets one insert win.
+     */
+    private AppointmentSlot insertVirtualSlot(UUID slotId, UUID availabilityId, Patient patient, String reference, ZonedDateTime now) {
+        if (availabilityId == null) {
+            throw new SlotNotFoundException("Slot not found: " + slotId);
+        }
+        AppointmentSlot slot = availabilityRepo.findById(availabilityId)
+                .map(slotGenerator::generate)
+                .flatMap(slots -> slots.stream().filter(s -> s.getId().equals(slotId)).findFirst())
+                .orElseThrow(() -> new SlotNotFoundException("Slot not found: " + slotId));
+        if (!slot.getSlotStartTime().isAfter(now)) {
+            throw new SlotUnavailableException("Slot has already started");
+        }
+        slot.setStatus(AppointmentSlot.SlotStatus.BOOKED);
+        slot.setPatient(patient);
+        slot.setBookingReference(reference);
+        try {
+            slotRepo.insertAll(List.of(slot));
+        } catch (DuplicateKeyException e) {
+            throw new SlotUnavailableException("Slot is already booked");
+        }
+        return slot;
+    }
+
+    private SlotBookingResponse booked(AppointmentSlot slot) {
+        eventPublisher.publishEvent(SlotStatusChangedEvent.of(slot));
+        return SlotBookingResponse.builder()
+                .slotId(slot.getId())
+                .availabilityId(slot.getAvailability().getId())
+                .providerId(slot.getProvider().getId())
+                .patientId(slot.getPatient().getId())
+                .slotStartTime(slot.getSlotStartTime())
+                .slotEndTime(slot.getSlotEndTime())
+                .status(slot.getStatus().name().toLowerCase())
+                .bookingReference(slot.getBookingReference())
+                .build();
+    }
+}
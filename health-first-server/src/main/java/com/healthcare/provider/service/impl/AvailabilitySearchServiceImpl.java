@@ -0,0 +1,73 @@
+package com.healthcare.provider.service.impl;
+
+import com.healthcare.provider.dto.AvailabilitySearchRequest;
+import com.healthcare.provider.dto.AvailabilitySearchResponse;
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.scheduling.SlotGenerator;
+import com.healthcare.provider.search.AvailabilitySearchIndex;
+import com.healthcare.provider.service.AvailabilitySearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class AvailabilitySearchServiceImpl implements AvailabilitySearchService {
+    private final AvailabilitySearchIndex searchIndex;
+    private final SlotGenerator slotGenerator;
+
+    @Override
+    @Transactional(readOnly = true)
+    public AvailabilitySearchResponse search(AvailabilitySearchRequest request) {
+        LocalDate from = request.getDate() != null ? request.getDate() : request.getStartDate() != null ? request.getStartDate() : LocalDate.now();
+        LocalDate to = request.getDate() != null ? request.getDate() : request.getEndDate() != null ? request.getEndDate() : from;
+        boolean availableOnly = request.getAvailableOnly() == null || request.getAvailableOnly();
+        AvailabilitySearchIndex.Matches matches = searchIndex.search(new AvailabilitySearchIndex.Query(
+                request.getSpecialization(), request.getLocation(), request.getAppointmentType(),
+                request.getInsuranceAccepted(), request.getMaxPrice(), from, to));
+        // Group open slots per provider, computing them from each matching rule for the requested window only
+        Map<UUID, AvailabilitySearchResponse.Result> results = new LinkedHashMap<>();
+        for (AvailabilitySearchIndex.Entry entry : matches.entries()) {
+            ZoneId zone = ZoneId.of(request.getTimezone() != null ? request.getTimezone() : entry.rule().getTimezone());
+            List<AvailabilitySearchResponse.Slot> slots = new ArrayList<>();
+            for (AppointmentSlot slot : slotGenerator.generate(entry.rule(), from, to)) {
+                if (availableOnly && !matches.isOpen(entry.availabilityId(), slot.getSlotStartTime().toInstant())) continue;
+                ZonedDateTime start = slot.getSlotStartTime().withZoneSameInstant(zone);
+                slots.add(AvailabilitySearchResponse.Slot.builder()
+                        .slotId(slot.getId())
+                        .date(start.toLocalDate())
+                        .startTime(start.toLocalTime().toString())
+                        .endTime(slot.getSlotEndTime().withZoneSameInstant(zone).toLocalTime().toString())
+                        .appointmentType(entry.appointmentType())
+                        .location(entry.location())
+                        .pricing(entry.pricing())
+                        .specialRequirements(entry.rule().getSpecialRequirements())
+                        .build());
+            }
+            if (slots.isEmpty()) continue;
+            results.computeIfAbsent(entry.providerId(), id -> AvailabilitySearchResponse.Result.builder()
+                    .provider(entry.provider())
+                    .availableSlots(new ArrayList<>())
+                    .build())
+                    .getAvailableSlots().addAll(slots);
+        }
+        for (AvailabilitySearchResponse.Result result : results.values()) {
+            result.getAvailableSlots().sort(Comparator.comparing(AvailabilitySearchResponse.Slot::getDate)
+                    .thenComparing(AvailabilitySearchResponse.Slot::getStartTime));
+        }
+        return AvailabilitySearchResponse.builder()
+                .searchCriteria(AvailabilitySearchResponse.SearchCriteria.builder()
+                        .date(from)
+                        .specialization(request.getSpecialization())
+                        .location(request.getLocation())
+                        .build())
+                .totalResults(results.size())
+                .results(new ArrayList<>(results.values()))
+                .build();
+    }
+}
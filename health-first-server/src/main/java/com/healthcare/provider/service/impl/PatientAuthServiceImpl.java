@@ -2,12 +2,14 @@ package com.healthcare.provider.service.impl;
 
 import com.healthcare.provider.dto.PatientLoginRequest;
 import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.entity.RefreshToken;
 import com.healthcare.provider.repository.PatientRepository;
 import com.healthcare.provider.service.PatientAuthService;
 import com.healthcare.provider.service.dto.PatientLoginResponse;
 import com.healthcare.provider.security.JwtTokenProvider;
+import com.healthcare.provider.security.RefreshTokenStore;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -16,8 +18,9 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class PatientAuthServiceImpl implements PatientAuthService {
     private final PatientRepository patientRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenStore refreshTokenStore;
 
     @Override
     public PatientLoginResponse login(PatientLoginRequest request) {
@@ -35,12 +38,18 @@ public class PatientAuthServiceImpl implements PatientAuthService {
                     .message("Invalid email or password")
                     .build();
         }
-        String token = jwtTokenProvider.generateTokenForPatient(patient, 1800); // 30 min
+        // Rehash while the raw password is at hand if the stored hash uses another cost
+        if (passwordEncoder.upgradeEncoding(patient.getPasswordHash())) {
+            patient.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+            patient = patientRepository.save(patient);
+        }
+        String token = jwtTokenProvider.generateTokenForPatient(patient, JwtTokenProvider.PATIENT_TOKEN_EXPIRY_SECONDS);
         return PatientLoginResponse.builder()
                 .success(true)
                 .message("Login successful")
                 .accessToken(token)
-                .expiresIn(30 * 60)
+                .refreshToken(refreshTokenStore.issue(patient.getId(), RefreshToken.SubjectType.PATIENT))
+                .expiresIn(JwtTokenProvider.PATIENT_TOKEN_EXPIRY_SECONDS)
                 .tokenType("Bearer")
                 .patient(patient)
                 .build();
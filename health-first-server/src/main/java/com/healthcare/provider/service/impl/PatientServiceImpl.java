@@ -2,6 +2,8 @@ package com.healthcare.provider.service.impl;
 
 import com.healthcare.provider.dto.PatientCreateRequest;
 import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.notification.VerificationEmailOutbox;
+import com.healthcare.provider.registration.RegistrationKeyFilter;
 import com.healthcare.provider.repository.PatientRepository;
 import com.healthcare.provider.service.PatientService;
 import com.healthcare.provider.service.dto.PatientRegistrationResponse;
@@ -9,13 +11,15 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -24,7 +28,9 @@ import java.util.Set;
 public class PatientServiceImpl implements PatientService {
     private final PatientRepository patientRepository;
     private final Validator validator;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(12);
+    private final PasswordEncoder passwordEncoder;
+    private final RegistrationKeyFilter registrationKeyFilter;
+    private final VerificationEmailOutbox verificationEmailOutbox;
 
     @Override
     @Transactional
@@ -53,12 +59,15 @@ public class PatientServiceImpl implements PatientService {
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid gender value");
         }
-        // Unique email/phone
-        if (patientRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Email is already registered");
-        }
-        if (patientRepository.existsByPhoneNumber(request.getPhoneNumber())) {
-            throw new IllegalArgumentException("Phone number is already registered");
+        // Unique email/phone in one query, skipped when neither can be taken
+        if (registrationKeyFilter.mightContainPatient(request.getEmail(), request.getPhoneNumber())) {
+            List<Patient> clashes = patientRepository.findByEmailOrPhoneNumber(request.getEmail(), request.getPhoneNumber());
+            if (clashes.stream().anyMatch(p -> request.getEmail().equals(p.getEmail()))) {
+                throw new IllegalArgumentException("Email is already registered");
+            }
+            if (clashes.stream().anyMatch(p -> request.getPhoneNumber().equals(p.getPhoneNumber()))) {
+                throw new IllegalArgumentException("Phone number is already registered");
+            }
         }
         // Map DTO to entity
         Patient patient = Patient.builder()
@@ -77,7 +86,17 @@ public class PatientServiceImpl implements PatientService {
                 .phoneVerified(false)
                 .isActive(true)
                 .build();
-        patientRepository.save(patient);
+        // Flush here so a concurrent registration's constraint violation is reported as a duplicate
+        try {
+            patientRepository.saveAndFlush(patient);
+        } catch (DataIntegrityViolationException ex) {
+            String column = RegistrationKeyFilter.violatedColumn(ex, "email", "phone_number");
+            if (column == null) throw ex;
+            throw new IllegalArgumentException("email".equals(column)
+                    ? "Email is already registered" : "Phone number is already registered");
+        }
+        registrationKeyFilter.putPatient(request.getEmail(), request.getPhoneNumber());
+        verificationEmailOutbox.enqueue(patient);
         return PatientRegistrationResponse.builder()
                 .patientId(patient.getId().toString())
                 .email(patient.getEmail())
@@ -1,87 +1,198 @@
 package com.healthcare.provider.service.impl;
 
+import com.healthcare.provider.dto.AvailabilityDeleteResponse;
+import com.healthcare.provider.dto.FreeWindowsResponse;
 import com.healthcare.provider.dto.ProviderAvailabilityRequest;
 import com.healthcare.provider.dto.ProviderAvailabilityResponse;
 import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.AvailabilityDeletion;
 import com.healthcare.provider.entity.Provider;
 import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.exception.BookedSlotsException;
 import com.healthcare.provider.repository.AppointmentSlotRepository;
+import com.healthcare.provider.repository.AvailabilityDeletionRepository;
+import com.healthcare.provider.repository.AvailabilityView;
 import com.healthcare.provider.repository.ProviderAvailabilityRepository;
 import com.healthcare.provider.repository.ProviderRepository;
+import com.healthcare.provider.repository.SlotView;
+import com.healthcare.provider.repository.SpecialRequirementView;
+import com.healthcare.provider.scheduling.AvailabilityChangedEvent;
+import com.healthcare.provider.scheduling.AvailabilityIntervalIndex;
+import com.healthcare.provider.scheduling.ProviderOccupancyIndex;
+import com.healthcare.provider.scheduling.SlotGenerator;
+import com.healthcare.provider.scheduling.SlotStorageMode;
 import com.healthcare.provider.service.ProviderAvailabilityService;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProviderAvailabilityServiceImpl implements ProviderAvailabilityService {
+    // Availabilities read ahead while streaming, so their special requirements come in one batch (see @BatchSize)
+    private static final int STREAM_CHUNK_SIZE = 100;
+    // Managed entities the persistence context may hold while streaming before it is cleared
+    private static final int STREAM_CLEAR_THRESHOLD = 1_000;
+
     private final ProviderAvailabilityRepository availabilityRepo;
     private final AppointmentSlotRepository slotRepo;
     private final ProviderRepository providerRepo;
+    private final AvailabilityDeletionRepository deletionRepo;
+    private final SlotGenerator slotGenerator;
+    private final AvailabilityIntervalIndex intervalIndex;
+    private final ProviderOccupancyIndex occupancyIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${scheduling.slots.mode:materialized}")
+    private SlotStorageMode slotStorageMode = SlotStorageMode.MATERIALIZED;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     @Transactional
     public ProviderAvailabilityResponse createAvailability(UUID providerId, ProviderAvailabilityRequest request) {
         Provider provider = providerRepo.findById(providerId).orElseThrow();
-        ProviderAvailability availability = ProviderAvailability.builder()
-                .provider(provider)
-                .date(request.getDate())
-                .startTime(request.getStartTime())
-                .endTime(request.getEndTime())
-                .timezone(request.getTimezone())
-                .isRecurring(request.isRecurring())
-                .recurrencePattern(request.getRecurrencePattern() != null ? ProviderAvailability.RecurrencePattern.valueOf(request.getRecurrencePattern().toUpperCase()) : null)
-                .recurrenceEndDate(request.getRecurrenceEndDate())
-                .slotDuration(request.getSlotDuration())
-                .breakDuration(request.getBreakDuration())
-                .appointmentType(request.getAppointmentType() != null ? ProviderAvailability.AppointmentType.valueOf(request.getAppointmentType().toUpperCase()) : ProviderAvailability.AppointmentType.CONSULTATION)
-                .location(mapLocation(request.getLocation()))
-                .pricing(mapPricing(request.getPricing()))
-                .specialRequirements(request.getSpecialRequirements())
-                .notes(request.getNotes())
-                .build();
-        // Conflict check: prevent overlapping slots for same provider
-        if (hasConflict(provider, request)) {
-            throw new IllegalArgumentException("Overlapping availability exists for this provider.");
-        }
+        ProviderAvailability availability = mapAvailability(provider, request);
+        checkConflicts(provider, availability);
         availability = availabilityRepo.save(availability);
-        List<AppointmentSlot> slots = generateSlots(availability);
-        slotRepo.saveAll(slots);
+        List<AppointmentSlot> slots = slotGenerator.generate(availability);
+        persistSlots(slots);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.created(availability));
         return mapToResponse(availability, slots);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProviderAvailabilityResponse> getAvailabilities(UUID providerId, LocalDate startDate, LocalDate endDate, String status, String appointmentType, String timezone) {
         Provider provider = providerRepo.findById(providerId).orElseThrow();
+        ProviderAvailability.SlotStatus slotStatus = status != null ? ProviderAvailability.SlotStatus.valueOf(status.toUpperCase()) : null;
+        if (slotStorageMode == SlotStorageMode.VIRTUAL) {
+            // Open slots are generated from the availability entity, so virtual mode still loads entities
+            return getAvailabilityEntities(provider, startDate, endDate, slotStatus);
+        }
+        // Column projections instead of entities: nothing enters the persistence context, so there are no proxies,
+        // snapshots or flush to pay for. One query each for availabilities, special requirements and slots.
+        List<AvailabilityView> availabilities = availabilityRepo.findViewsForRange(providerId, startDate, endDate, slotStatus);
+        if (availabilities.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, List<String>> requirementsByAvailability = availabilityRepo
+            .findSpecialRequirementViews(availabilities.stream().map(AvailabilityView::id).toList()).stream()
+            .collect(Collectors.groupingBy(SpecialRequirementView::availabilityId,
+                Collectors.mapping(SpecialRequirementView::requirement, Collectors.toList())));
+        Map<UUID, List<SlotView>> slotsByAvailability = slotRepo.findViewsByAvailabilityIn(availabilities).stream()
+            .collect(Collectors.groupingBy(SlotView::availabilityId));
+        return availabilities.stream()
+            .map(avail -> mapToResponse(avail, requirementsByAvailability.getOrDefault(avail.id(), new ArrayList<>()),
+                slotsByAvailability.getOrDefault(avail.id(), List.of())))
+            .toList();
+    }
+
+    private List<ProviderAvailabilityResponse> getAvailabilityEntities(Provider provider, LocalDate startDate, LocalDate endDate,
+                                                                       ProviderAvailability.SlotStatus status) {
+        // Special requirements are fetched with the availabilities and all slots in one more query,
+        // so the statement count stays constant however wide the range is
         List<ProviderAvailability> availabilities;
         if (status != null) {
-            availabilities = availabilityRepo.findByProviderAndDateBetweenAndStatus(
-                provider, startDate, endDate, ProviderAvailability.SlotStatus.valueOf(status.toUpperCase()));
+            availabilities = availabilityRepo.findWithRequirementsByProviderAndDateBetweenAndStatus(provider, startDate, endDate, status);
         } else {
-            availabilities = availabilityRepo.findByProviderAndDateBetween(provider, startDate, endDate);
+            availabilities = availabilityRepo.findWithRequirementsByProviderAndDateBetween(provider, startDate, endDate);
         }
-        // For each availability, fetch slots and map to response
+        Map<UUID, List<AppointmentSlot>> slotsByAvailability = loadSlots(availabilities);
         return availabilities.stream()
-            .map(avail -> {
-                List<AppointmentSlot> slots = slotRepo.findByAvailability(avail);
-                return mapToResponse(avail, slots);
-            })
+            .map(avail -> mapToResponse(avail, slotsByAvailability.get(avail.getId())))
+            .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAvailabilities(UUID providerId, LocalDate startDate, LocalDate endDate, String status, Consumer<ProviderAvailabilityResponse> sink) {
+        Provider provider = providerRepo.findById(providerId).orElseThrow();
+        ProviderAvailability.SlotStatus slotStatus = status != null ? ProviderAvailability.SlotStatus.valueOf(status.toUpperCase()) : null;
+        // Two cursors in the same (date, id) order: each availability takes the run of slots that belong to it
+        try (Stream<ProviderAvailability> availabilities = availabilityRepo.streamForRange(provider, startDate, endDate, slotStatus);
+             Stream<AppointmentSlot> slots = slotRepo.streamForRange(provider, startDate, endDate, slotStatus)) {
+            Iterator<AppointmentSlot> slotCursor = slots.iterator();
+            AppointmentSlot pending = slotCursor.hasNext() ? slotCursor.next() : null;
+            Iterator<ProviderAvailability> availabilityCursor = availabilities.iterator();
+            List<ProviderAvailability> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            int managed = 0;
+            while (availabilityCursor.hasNext()) {
+                chunk.clear();
+                // hasNext() reads the next row, so it must not run ahead of the chunk and across a clear
+                while (chunk.size() < STREAM_CHUNK_SIZE && availabilityCursor.hasNext()) {
+                    chunk.add(availabilityCursor.next());
+                }
+                // Loads the whole chunk's requirements, so they stay readable after a clear below
+                Hibernate.initialize(chunk.get(0).getSpecialRequirements());
+                managed += chunk.size();
+                for (ProviderAvailability availability : chunk) {
+                    List<AppointmentSlot> stored = new ArrayList<>();
+                    while (pending != null && pending.getAvailability().getId().equals(availability.getId())) {
+                        stored.add(pending);
+                        pending = slotCursor.hasNext() ? slotCursor.next() : null;
+                    }
+                    List<AppointmentSlot> availabilitySlots = slotStorageMode == SlotStorageMode.VIRTUAL
+                            ? slotGenerator.merge(slotGenerator.generate(availability), stored)
+                            : stored;
+                    sink.accept(mapToResponse(availability, availabilitySlots));
+                    // Nothing emitted is needed again; keep the persistence context from growing with the range
+                    managed += stored.size();
+                    if (managed >= STREAM_CLEAR_THRESHOLD) {
+                        entityManager.clear();
+                        managed = 0;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FreeWindowsResponse getFreeWindows(UUID providerId, LocalDate date, int durationMinutes, String timezone) {
+        // Arguments first, so bad input costs no database read
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("Duration must be positive.");
+        }
+        ZoneId zone = timezone != null ? ZoneId.of(timezone) : ZoneOffset.UTC;
+        Provider provider = providerRepo.findById(providerId).orElseThrow();
+        Instant from = date.atStartOfDay(zone).toInstant();
+        Instant to = date.plusDays(1).atStartOfDay(zone).toInstant();
+        List<FreeWindowsResponse.Window> windows = occupancyIndex.freeWindows(provider, from, to, Duration.ofMinutes(durationMinutes)).stream()
+            .map(w -> mapWindow(w, zone))
             .toList();
+        return FreeWindowsResponse.builder()
+            .providerId(providerId)
+            .date(date)
+            .timezone(zone.getId())
+            .durationMinutes(durationMinutes)
+            .windows(windows)
+            .longestGap(occupancyIndex.longestGap(provider, from, to).map(w -> mapWindow(w, zone)).orElse(null))
+            .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProviderAvailabilityResponse getAvailability(UUID providerId, UUID availabilityId) {
         Provider provider = providerRepo.findById(providerId).orElseThrow();
         ProviderAvailability availability = availabilityRepo.findById(availabilityId)
             .filter(a -> a.getProvider().getId().equals(providerId))
             .orElseThrow();
-        List<AppointmentSlot> slots = slotRepo.findByAvailability(availability);
-        return mapToResponse(availability, slots);
+        return mapToResponse(availability, loadSlots(availability));
     }
 
     @Override
@@ -91,6 +202,10 @@ public class ProviderAvailabilityServiceImpl implements ProviderAvailabilityServ
         ProviderAvailability availability = availabilityRepo.findById(availabilityId)
             .filter(a -> a.getProvider().getId().equals(providerId))
             .orElseThrow();
+        // Checked on a detached copy: the index load queries the provider's availabilities, which would flush a modified entity
+        ProviderAvailability candidate = mapAvailability(provider, request);
+        candidate.setId(availabilityId);
+        checkConflicts(provider, candidate);
         // Update fields
         availability.setDate(request.getDate());
         availability.setStartTime(request.getStartTime());
@@ -106,82 +221,127 @@ public class ProviderAvailabilityServiceImpl implements ProviderAvailabilityServ
         availability.setPricing(mapPricing(request.getPricing()));
         availability.setSpecialRequirements(request.getSpecialRequirements());
         availability.setNotes(request.getNotes());
-        // Remove old slots and generate new ones
-        slotRepo.deleteAll(slotRepo.findByAvailability(availability));
-        List<AppointmentSlot> slots = generateSlots(availability);
-        slotRepo.saveAll(slots);
+        // Only write the slots whose window changed; in virtual mode the stored rows are just the exceptions
+        SlotGenerator.SlotDiff diff = slotGenerator.diff(slotRepo.findByAvailability(availability), slotGenerator.generate(availability));
+        long booked = diff.removed().stream().filter(s -> s.getStatus() == AppointmentSlot.SlotStatus.BOOKED).count();
+        if (booked > 0) {
+            throw new BookedSlotsException("Update would remove " + booked + " booked slot(s); cancel them first.");
+        }
+        if (!diff.removed().isEmpty()) {
+            slotRepo.deleteAllByIdIn(diff.removed().stream().map(AppointmentSlot::getId).toList());
+        }
+        persistSlots(diff.added());
+        String appointmentType = availability.getAppointmentType().name();
+        List<AppointmentSlot> retyped = diff.kept().stream()
+            .filter(s -> !appointmentType.equals(s.getAppointmentType()))
+            .toList();
+        if (!retyped.isEmpty()) {
+            slotRepo.updateAppointmentType(retyped.stream().map(AppointmentSlot::getId).toList(), appointmentType);
+            // Already written by the bulk update; detach so dirty checking does not repeat it row by row
+            retyped.forEach(s -> {
+                entityManager.detach(s);
+                s.setAppointmentType(appointmentType);
+            });
+        }
+        List<AppointmentSlot> slots = diff.slots();
         availabilityRepo.save(availability);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.updated(availability));
         return mapToResponse(availability, slots);
     }
 
     @Override
-    public void deleteAvailability(UUID providerId, UUID availabilityId, boolean deleteRecurring, String reason) {
-        Provider provider = providerRepo.findById(providerId).orElseThrow();
+    @Transactional
+    public AvailabilityDeleteResponse deleteAvailability(UUID providerId, UUID availabilityId, boolean deleteRecurring, String reason) {
         ProviderAvailability availability = availabilityRepo.findById(availabilityId)
             .filter(a -> a.getProvider().getId().equals(providerId))
             .orElseThrow();
-        // If deleteRecurring, delete all recurring availabilities in the series
-        if (deleteRecurring && availability.isRecurring() && availability.getRecurrencePattern() != null && availability.getRecurrenceEndDate() != null) {
-            List<ProviderAvailability> recurring = availabilityRepo.findByProviderAndDateBetween(
-                provider, availability.getDate(), availability.getRecurrenceEndDate());
-            for (ProviderAvailability avail : recurring) {
-                slotRepo.deleteAll(slotRepo.findByAvailability(avail));
-                availabilityRepo.delete(avail);
-            }
-        } else {
-            slotRepo.deleteAll(slotRepo.findByAvailability(availability));
-            availabilityRepo.delete(availability);
+        // A recurring availability is one row holding the whole series, so deleting it removes every occurrence
+        long booked = slotRepo.countByAvailabilityAndStatus(availability, AppointmentSlot.SlotStatus.BOOKED);
+        if (booked > 0) {
+            throw new BookedSlotsException("Availability has " + booked + " booked slot(s); cancel them first.");
         }
-        // Optionally log the reason for deletion
+        List<UUID> ids = List.of(availabilityId);
+        int deletedSlots = slotRepo.deleteAllByAvailabilityIdIn(ids);
+        int deletedAvailabilities = availabilityRepo.deleteAllByIdIn(ids);
+        deletionRepo.save(AvailabilityDeletion.builder()
+            .availabilityId(availabilityId)
+            .providerId(providerId)
+            .recurring(availability.isRecurring())
+            .deletedSlots(deletedSlots)
+            .reason(reason)
+            .build());
+        log.info("Deleted {} availabilities and {} slots for provider {} (reason: {})",
+            deletedAvailabilities, deletedSlots, providerId, reason);
+        eventPublisher.publishEvent(AvailabilityChangedEvent.deleted(providerId, availabilityId));
+        return AvailabilityDeleteResponse.builder()
+            .deletedAvailabilities(deletedAvailabilities)
+            .deletedSlots(deletedSlots)
+            .reason(reason)
+            .build();
     }
 
     // ... Implement updateAvailability, deleteAvailability, getAvailability, getAvailabilities ...
     // ... Helper methods for slot generation, recurrence, time zone, and mapping ...
 
-    private boolean hasConflict(Provider provider, ProviderAvailabilityRequest request) {
-        List<ProviderAvailability> existing = availabilityRepo.findByProviderAndDateBetween(
-                provider, request.getDate(), request.getRecurrenceEndDate() != null ? request.getRecurrenceEndDate() : request.getDate());
-        for (ProviderAvailability avail : existing) {
-            if (avail.getStartTime().isBefore(request.getEndTime()) && avail.getEndTime().isAfter(request.getStartTime())) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private List<AppointmentSlot> generateSlots(ProviderAvailability availability) {
-        List<AppointmentSlot> slots = new ArrayList<>();
-        LocalDate startDate = availability.getDate();
-        LocalDate endDate = availability.isRecurring() && availability.getRecurrenceEndDate() != null ? availability.getRecurrenceEndDate() : startDate;
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = nextRecurrence(date, availability.getRecurrencePattern())) {
-            LocalTime slotStart = availability.getStartTime();
-            LocalTime slotEnd = availability.getEndTime();
-            while (slotStart.plusMinutes(availability.getSlotDuration()).isBefore(slotEnd) || slotStart.plusMinutes(availability.getSlotDuration()).equals(slotEnd)) {
-                ZonedDateTime slotStartZdt = ZonedDateTime.of(date, slotStart, ZoneId.of(availability.getTimezone())).withZoneSameInstant(ZoneOffset.UTC);
-                ZonedDateTime slotEndZdt = slotStartZdt.plusMinutes(availability.getSlotDuration());
-                slots.add(AppointmentSlot.builder()
-                        .availability(availability)
-                        .provider(availability.getProvider())
-                        .slotStartTime(slotStartZdt)
-                        .slotEndTime(slotEndZdt)
-                        .status(AppointmentSlot.SlotStatus.AVAILABLE)
-                        .appointmentType(availability.getAppointmentType().name())
-                        .bookingReference(UUID.randomUUID().toString())
-                        .build());
-                slotStart = slotStart.plusMinutes(availability.getSlotDuration() + availability.getBreakDuration());
-            }
+    private ProviderAvailability mapAvailability(Provider provider, ProviderAvailabilityRequest request) {
+        return ProviderAvailability.builder()
+                .provider(provider)
+                .date(request.getDate())
+                .startTime(request.getStartTime())
+                .endTime(request.getEndTime())
+                .timezone(request.getTimezone())
+                .isRecurring(request.isRecurring())
+                .recurrencePattern(request.getRecurrencePattern() != null ? ProviderAvailability.RecurrencePattern.valueOf(request.getRecurrencePattern().toUpperCase()) : null)
+                .recurrenceEndDate(request.getRecurrenceEndDate())
+                .slotDuration(request.getSlotDuration())
+                .breakDuration(request.getBreakDuration())
+                .appointmentType(request.getAppointmentType() != null ? ProviderAvailability.AppointmentType.valueOf(request.getAppointmentType().toUpperCase()) : ProviderAvailability.AppointmentType.CONSULTATION)
+                .location(mapLocation(request.getLocation()))
+                .pricing(mapPricing(request.getPricing()))
+                .specialRequirements(request.getSpecialRequirements())
+                .notes(request.getNotes())
+                .build();
+    }
+
+    /**
+     * Conflict check: prevent overlapping slots for same provider, across every occurrence of a series.
+     * The occupancy bitmaps clear most candidates before the exact interval tree check, which skips the
+     * candidate's own id so an update is not rejected for overlapping its previous version.
+     */
+    private void checkConflicts(Provider provider, ProviderAvailability candidate) {
+        if (occupancyIndex.mayConflict(provider, slotGenerator.occurrences(candidate)) && intervalIndex.hasConflict(provider, candidate)) {
+            throw new IllegalArgumentException("Overlapping availability exists for this provider.");
         }
-        return slots;
     }
 
-    private LocalDate nextRecurrence(LocalDate date, ProviderAvailability.RecurrencePattern pattern) {
-        if (pattern == null) return date.plusDays(1); // default daily
-        switch (pattern) {
-            case DAILY: return date.plusDays(1);
-            case WEEKLY: return date.plusWeeks(1);
-            case MONTHLY: return date.plusMonths(1);
-            default: return date.plusDays(1);
+    private void persistSlots(List<AppointmentSlot> slots) {
+        // In virtual mode open slots are never stored; only booked, blocked or cancelled ones are
+        if (slotStorageMode == SlotStorageMode.VIRTUAL) return;
+        // Open slots have no booking reference; bookSlot issues one when the slot is claimed
+        slotRepo.insertAll(slots);
+    }
+
+    private List<AppointmentSlot> loadSlots(ProviderAvailability availability) {
+        return loadSlots(List.of(availability)).get(availability.getId());
+    }
+
+    private Map<UUID, List<AppointmentSlot>> loadSlots(List<ProviderAvailability> availabilities) {
+        Map<UUID, List<AppointmentSlot>> slotsByAvailability = new HashMap<>();
+        for (ProviderAvailability availability : availabilities) {
+            slotsByAvailability.put(availability.getId(), new ArrayList<>());
         }
+        if (!availabilities.isEmpty()) {
+            for (AppointmentSlot slot : slotRepo.findByAvailabilityInOrderBySlotStartTime(availabilities)) {
+                slotsByAvailability.get(slot.getAvailability().getId()).add(slot);
+            }
+        }
+        if (slotStorageMode == SlotStorageMode.VIRTUAL) {
+            for (ProviderAvailability availability : availabilities) {
+                slotsByAvailability.put(availability.getId(),
+                        slotGenerator.merge(slotGenerator.generate(availability), slotsByAvailability.get(availability.getId())));
+            }
+        }
+        return slotsByAvailability;
     }
 
     private ProviderAvailability.Location mapLocation(ProviderAvailabilityRequest.Location loc) {
@@ -200,7 +360,7 @@ public class ProviderAvailabilityServiceImpl implements ProviderAvailabilityServ
         pr.setCurrency(p.getCurrency());
         return pr;
     }
-    private ProviderAvailabilityResponse mapToResponse(ProviderAvailability availability, List<AppointmentSlot> slots) {
+    ProviderAvailabilityResponse mapToResponse(ProviderAvailability availability, List<AppointmentSlot> slots) {
         return ProviderAvailabilityResponse.builder()
                 .availabilityId(availability.getId())
                 .providerId(availability.getProvider().getId())
@@ -224,6 +384,40 @@ public class ProviderAvailabilityServiceImpl implements ProviderAvailabilityServ
                 .slots(slots.stream().map(this::mapSlotDto).collect(Collectors.toList()))
                 .build();
     }
+    private ProviderAvailabilityResponse mapToResponse(AvailabilityView availability, List<String> specialRequirements, List<SlotView> slots) {
+        return ProviderAvailabilityResponse.builder()
+                .availabilityId(availability.id())
+                .providerId(availability.providerId())
+                .date(availability.date())
+                .startTime(availability.startTime())
+                .endTime(availability.endTime())
+                .timezone(availability.timezone())
+                .isRecurring(availability.recurring())
+                .recurrencePattern(availability.recurrencePattern() != null ? availability.recurrencePattern().name().toLowerCase() : null)
+                .recurrenceEndDate(availability.recurrenceEndDate())
+                .slotDuration(availability.slotDuration())
+                .breakDuration(availability.breakDuration())
+                .status(availability.status().name().toLowerCase())
+                .maxAppointmentsPerSlot(availability.maxAppointmentsPerSlot())
+                .currentAppointments(availability.currentAppointments())
+                .appointmentType(availability.appointmentType().name().toLowerCase())
+                .location(availability.locationType() == null ? null : ProviderAvailabilityResponse.Location.builder()
+                        .type(availability.locationType().name().toLowerCase())
+                        .address(availability.locationAddress())
+                        .roomNumber(availability.locationRoomNumber())
+                        .build())
+                .pricing(availability.baseFee() == null && availability.insuranceAccepted() == null && availability.currency() == null
+                        ? null
+                        : ProviderAvailabilityResponse.Pricing.builder()
+                        .baseFee(availability.baseFee())
+                        .insuranceAccepted(availability.insuranceAccepted())
+                        .currency(availability.currency())
+                        .build())
+                .notes(availability.notes())
+                .specialRequirements(specialRequirements)
+                .slots(slots.stream().map(this::mapSlotDto).collect(Collectors.toList()))
+                .build();
+    }
     private ProviderAvailabilityResponse.Location mapLocationDto(ProviderAvailability.Location loc) {
         if (loc == null) return null;
         return ProviderAvailabilityResponse.Location.builder()
@@ -240,6 +434,12 @@ public class ProviderAvailabilityServiceImpl implements ProviderAvailabilityServ
                 .currency(p.getCurrency())
                 .build();
     }
+    private FreeWindowsResponse.Window mapWindow(SlotGenerator.Occurrence window, ZoneId zone) {
+        return FreeWindowsResponse.Window.builder()
+                .startTime(window.start().atZone(zone).toString())
+                .endTime(window.end().atZone(zone).toString())
+                .build();
+    }
     private ProviderAvailabilityResponse.Slot mapSlotDto(AppointmentSlot slot) {
         return ProviderAvailabilityResponse.Slot.builder()
                 .slotId(slot.getId())
@@ -249,4 +449,13 @@ public class ProviderAvailabilityServiceImpl implements ProviderAvailabilityServ
                 .appointmentType(slot.getAppointmentType())
                 .build();
     }
-} 
\ No newline at end of file
+    private ProviderAvailabilityResponse.Slot mapSlotDto(SlotView slot) {
+        return ProviderAvailabilityResponse.Slot.builder()
+                .slotId(slot.id())
+                .startTime(slot.slotStartTime().toString())
+                .endTime(slot.slotEndTime().toString())
+                .status(slot.status().name().toLowerCase())
+                .appointmentType(slot.appointmentType())
+                .build();
+    }
+}
\ No newline at end of file
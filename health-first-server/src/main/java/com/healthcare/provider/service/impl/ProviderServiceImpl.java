@@ -2,6 +2,7 @@ package com.healthcare.provider.service.impl;
 
 import com.healthcare.provider.dto.ProviderCreateRequest;
 import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.RefreshToken;
 import com.healthcare.provider.repository.ProviderRepository;
 import com.healthcare.provider.service.ProviderService;
 import com.healthcare.provider.service.dto.ProviderRegistrationResponse;
@@ -13,6 +14,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import com.healthcare.provider.dto.ProviderLoginRequest;
 import com.healthcare.provider.service.dto.ProviderLoginResponse;
 import com.healthcare.provider.security.JwtTokenProvider;
+import com.healthcare.provider.security.RefreshTokenStore;
+import com.healthcare.provider.notification.VerificationEmailOutbox;
+import com.healthcare.provider.registration.RegistrationKeyFilter;
+import com.healthcare.provider.scheduling.ProviderUpdatedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -20,22 +30,32 @@ public class ProviderServiceImpl implements ProviderService {
     private final ProviderRepository providerRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RegistrationKeyFilter registrationKeyFilter;
+    private final RefreshTokenStore refreshTokenStore;
+    private final VerificationEmailOutbox verificationEmailOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
+    @Transactional
     public ProviderRegistrationResponse registerProvider(ProviderCreateRequest request) {
         // Password match validation
         if (!request.getPassword().equals(request.getConfirmPassword())) {
             throw new IllegalArgumentException("Passwords do not match");
         }
-        // Duplicate checks
-        if (providerRepository.existsByEmail(request.getEmail())) {
-            throw new DataIntegrityViolationException("Email already exists");
-        }
-        if (providerRepository.existsByPhoneNumber(request.getPhoneNumber())) {
-            throw new DataIntegrityViolationException("Phone number already exists");
-        }
-        if (providerRepository.existsByLicenseNumber(request.getLicenseNumber())) {
-            throw new DataIntegrityViolationException("License number already exists");
+        // Duplicate checks: one query for all unique keys, skipped when none of them can be taken
+        if (registrationKeyFilter.mightContainProvider(request.getEmail(), request.getPhoneNumber(), request.getLicenseNumber())) {
+            List<Provider> clashes = providerRepository.findByEmailOrPhoneNumberOrLicenseNumber(
+                    request.getEmail(), request.getPhoneNumber(), request.getLicenseNumber());
+            if (clashes.stream().anyMatch(p -> request.getEmail().equals(p.getEmail()))) {
+                throw new DataIntegrityViolationException("Email already exists");
+            }
+            if (clashes.stream().anyMatch(p -> request.getPhoneNumber().equals(p.getPhoneNumber()))) {
+                throw new DataIntegrityViolationException("Phone number already exists");
+            }
+            if (clashes.stream().anyMatch(p -> request.getLicenseNumber().equals(p.getLicenseNumber()))) {
+                throw new DataIntegrityViolationException("License number already exists");
+            }
         }
         // Hash password
         String hashedPassword = passwordEncoder.encode(request.getPassword());
@@ -58,10 +78,22 @@ public class ProviderServiceImpl implements ProviderService {
                 .verificationStatus(Provider.VerificationStatus.PENDING)
                 .isActive(true)
                 .build();
-        // Save provider
-        provider = providerRepository.save(provider);
-        // (Stub) Send verification email
-        // TODO: Implement email sending
+        // Save provider; a concurrent registration with the same keys surfaces as a constraint violation
+        try {
+            provider = providerRepository.save(provider);
+            providerRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            String column = RegistrationKeyFilter.violatedColumn(ex, "email", "phone_number", "license_number");
+            if (column == null) throw ex;
+            throw new DataIntegrityViolationException(switch (column) {
+                case "email" -> "Email already exists";
+                case "phone_number" -> "Phone number already exists";
+                default -> "License number already exists";
+            }, ex);
+        }
+        registrationKeyFilter.putProvider(request.getEmail(), request.getPhoneNumber(), request.getLicenseNumber());
+        // Sent by the outbox dispatcher once this transaction commits
+        verificationEmailOutbox.enqueue(provider);
         // Return response DTO
         return ProviderRegistrationResponse.builder()
                 .providerId(provider.getId())
@@ -74,7 +106,6 @@ public class ProviderServiceImpl implements ProviderService {
     public ProviderLoginResponse loginProvider(ProviderLoginRequest request) {
         Provider provider = providerRepository.findByEmail(request.getEmail())
                 .orElse(null);
-        System.out.println("provider: " + provider);
         if (provider == null || !passwordEncoder.matches(request.getPassword(), provider.getPasswordHash())) {
             return ProviderLoginResponse.builder()
                     .success(false)
@@ -89,12 +120,24 @@ public class ProviderServiceImpl implements ProviderService {
         //             .data(null)
         //             .build();
         // }
+        // Rehash while the raw password is at hand if the stored hash uses another cost
+        if (passwordEncoder.upgradeEncoding(provider.getPasswordHash())) {
+            provider.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+            // Hashed outside the transaction; listeners see the update once it commits
+            Provider rehashed = provider;
+            provider = transactionTemplate.execute(status -> {
+                Provider saved = providerRepository.save(rehashed);
+                eventPublisher.publishEvent(new ProviderUpdatedEvent(saved));
+                return saved;
+            });
+        }
         String token = jwtTokenProvider.generateToken(provider);
         return ProviderLoginResponse.builder()
                 .success(true)
                 .message("Login successful")
                 .data(ProviderLoginResponse.Data.builder()
                         .accessToken(token)
+                        .refreshToken(refreshTokenStore.issue(provider.getId(), RefreshToken.SubjectType.PROVIDER))
                         .expiresIn((int) jwtTokenProvider.getJwtExpiryMs() / 1000)
                         .tokenType("Bearer")
                         .provider(provider)
@@ -0,0 +1,72 @@
+package com.healthcare.provider.service.impl;
+
+import com.healthcare.provider.dto.TokenRefreshRequest;
+import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.RefreshToken;
+import com.healthcare.provider.repository.PatientRepository;
+import com.healthcare.provider.repository.ProviderRepository;
+import com.healthcare.provider.security.JwtTokenProvider;
+import com.healthcare.provider.security.RefreshTokenStore;
+import com.healthcare.provider.service.TokenRefreshService;
+import com.healthcare.provider.service.dto.TokenRefreshResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class TokenRefreshServiceImpl implements TokenRefreshService {
+    private final RefreshTokenStore refreshTokenStore;
+    private final ProviderRepository providerRepository;
+    private final PatientRepository patientRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    // One transaction: if issuing the new token fails, the old one is not consumed either
+    @Override
+    @Transactional
+    public TokenRefreshResponse refresh(TokenRefreshRequest request) {
+        Optional<RefreshTokenStore.Entry> entry = refreshTokenStore.consume(request.getRefreshToken());
+        if (entry.isEmpty()) {
+            return invalid();
+        }
+        // No password check here, but the account must still exist and be active
+        RefreshTokenStore.Entry subject = entry.get();
+        if (subject.subjectType() == RefreshToken.SubjectType.PATIENT) {
+            Optional<Patient> patient = patientRepository.findById(subject.subjectId()).filter(Patient::isActive);
+            if (patient.isEmpty()) return invalid();
+            return TokenRefreshResponse.builder()
+                    .success(true)
+                    .message("Token refreshed")
+                    .accessToken(jwtTokenProvider.generateTokenForPatient(patient.get(), JwtTokenProvider.PATIENT_TOKEN_EXPIRY_SECONDS))
+                    .refreshToken(refreshTokenStore.issue(subject.subjectId(), subject.subjectType()))
+                    .expiresIn(JwtTokenProvider.PATIENT_TOKEN_EXPIRY_SECONDS)
+                    .tokenType("Bearer")
+                    .build();
+        }
+        Optional<Provider> provider = providerRepository.findById(subject.subjectId()).filter(Provider::isActive);
+        if (provider.isEmpty()) return invalid();
+        return TokenRefreshResponse.builder()
+                .success(true)
+                .message("Token refreshed")
+                .accessToken(jwtTokenProvider.generateToken(provider.get()))
+                .refreshToken(refreshTokenStore.issue(subject.subjectId(), subject.subjectType()))
+                .expiresIn((int) (jwtTokenProvider.getJwtExpiryMs() / 1000))
+                .tokenType("Bearer")
+                .build();
+    }
+
+    @Override
+    public void revoke(TokenRefreshRequest request) {
+        refreshTokenStore.consume(request.getRefreshToken());
+    }
+
+    private static TokenRefreshResponse invalid() {
+        return TokenRefreshResponse.builder()
+                .success(false)
+                .message("Invalid or expired refresh token")
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+-- PostgreSQL only: appointment_slot becomes a table partitioned by UTC month of slot_start_time.
+-- Queries bounded on slot_start_time only touch the months they ask for, and whole past months are
+-- moved to appointment_slot_archive by SlotPartitionMaintenance instead of being deleted row by row.
+
+alter table appointment_slot rename to appointment_slot_unpartitioned;
+alter table appointment_slot_unpartitioned rename constraint pk_appointment_slot to pk_appointment_slot_unpartitioned;
+alter table appointment_slot_unpartitioned rename constraint uk_appointment_slot_booking_reference to uk_appointment_slot_booking_reference_unpartitioned;
+drop index idx_appointment_slot_provider_start;
+drop index idx_appointment_slot_availability;
+drop index idx_appointment_slot_provider_status_start;
+
+-- Unique constraints on a partitioned table have to include the partition key. Slot ids and booking
+-- references are derived from each other and unique on their own; the database can only check it per month.
+create table appointment_slot (
+    id uuid not null,
+    availability_id uuid not null,
+    provider_id uuid not null,
+    patient_id uuid,
+    slot_start_time timestamp(6) with time zone not null,
+    slot_end_time timestamp(6) with time zone not null,
+    status varchar(255) not null check (status in ('AVAILABLE','BOOKED','CANCELLED','BLOCKED')),
+    booking_reference varchar(255) not null,
+    appointment_type varchar(255) not null,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    constraint pk_appointment_slot primary key (id, slot_start_time),
+    constraint uk_appointment_slot_booking_reference unique (booking_reference, slot_start_time),
+    constraint fk_appointment_slot_availability foreign key (availability_id) references provider_availability (id),
+    constraint fk_appointment_slot_provider foreign key (provider_id) references provider (id),
+    constraint fk_appointment_slot_patient foreign key (patient_id) references patient (id)
+) partition by range (slot_start_time);
+
+create index idx_appointment_slot_provider_start on appointment_slot (provider_id, slot_start_time);
+create index idx_appointment_slot_availability on appointment_slot (availability_id);
+create index idx_appointment_slot_provider_status_start on appointment_slot (provider_id, status, slot_start_time);
+
+-- Catches slots beyond the months created so far (long recurring series); emptied as their months get created
+create table appointment_slot_default partition of appointment_slot default;
+
+-- Cold storage: same columns, no foreign keys, so availabilities and patients can still be deleted
+create table appointment_slot_archive (
+    id uuid not null,
+    availability_id uuid not null,
+    provider_id uuid not null,
+    patient_id uuid,
+    slot_start_time timestamp(6) with time zone not null,
+    slot_end_time timestamp(6) with time zone not null,
+    status varchar(255) not null,
+    booking_reference varchar(255) not null,
+    appointment_type varchar(255) not null,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    constraint pk_appointment_slot_archive primary key (id, slot_start_time)
+) partition by range (slot_start_time);
+
+create index idx_appointment_slot_archive_provider_start on appointment_slot_archive (provider_id, slot_start_time);
+
+-- Creates the partition for the UTC month starting at p_month, moving any of its rows out of the default
+-- partition first. Returns false when it already exists.
+create function appointment_slot_ensure_partition(p_month date) returns boolean
+language plpgsql as $$
+declare
+    month_start date := date_trunc('month', p_month)::date;
+    partition_name text := 'appointment_slot_' || to_char(month_start, 'YYYY_MM');
+    lower_bound timestamptz := month_start::timestamp at time zone 'UTC';
+    upper_bound timestamptz := (month_start + interval '1 month')::timestamp at time zone 'UTC';
+begin
+    if to_regclass(partition_name) is not null then
+        return false;
+    end if;
+    alter table appointment_slot detach partition appointment_slot_default;
+    execute format('create table %I partition of appointment_slot for values from (%L) to (%L)',
+                   partition_name, lower_bound, upper_bound);
+    execute format('insert into %I select * from appointment_slot_default where slot_start_time >= %L and slot_start_time < %L',
+                   partition_name, lower_bound, upper_bound);
+    delete from appointment_slot_default where slot_start_time >= lower_bound and slot_start_time < upper_bound;
+    alter table appointment_slot attach partition appointment_slot_default default;
+    return true;
+end
+$$;
+
+-- Moves every monthly partition that ends on or before p_cutoff from appointment_slot to
+-- appointment_slot_archive. The rows stay where they are; only the parent changes. Returns the count moved.
+create function appointment_slot_archive_before(p_cutoff date) returns integer
+language plpgsql as $$
+declare
+    partition_name text;
+    month_start date;
+    archived integer := 0;
+begin
+    for partition_name in
+        select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid
+        where i.inhparent = 'appointment_slot'::regclass and c.relname ~ '^appointment_slot_\d{4}_\d{2}$'
+        order by c.relname
+    loop
+        month_start := to_date(substr(partition_name, 18), 'YYYY_MM');
+        exit when month_start + interval '1 month' > p_cutoff;
+        execute format('alter table appointment_slot detach partition %I', partition_name);
+        execute format('alter table %I drop constraint fk_appointment_slot_availability, '
+                       || 'drop constraint fk_appointment_slot_provider, drop constraint fk_appointment_slot_patient',
+                       partition_name);
+        execute format('alter table appointment_slot_archive attach partition %I for values from (%L) to (%L)',
+                       partition_name, month_start::timestamp at time zone 'UTC',
+                       (month_start + interval '1 month')::timestamp at time zone 'UTC');
+        archived := archived + 1;
+    end loop;
+    return archived;
+end
+$$;
+
+-- Existing rows land in the default partition and are then spread over their months
+insert into appointment_slot select * from appointment_slot_unpartitioned;
+select appointment_slot_ensure_partition(month::date)
+from generate_series(
+        date_trunc('month', coalesce((select min(slot_start_time) from appointment_slot_unpartitioned), now()) at time zone 'UTC'),
+        date_trunc('month', now() at time zone 'UTC') + interval '12 months',
+        interval '1 month') as month;
+drop table appointment_slot_unpartitioned;
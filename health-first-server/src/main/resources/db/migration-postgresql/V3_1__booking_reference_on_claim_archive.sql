@@ -0,0 +1,2 @@
+-- Archived months are attached to appointment_slot_archive as they are, so its columns have to allow what appointment_slot does
+alter table appointment_slot_archive alter column booking_reference drop not null;
@@ -0,0 +1,144 @@
+-- Schema as it stood when Hibernate still created it on startup (ddl-auto: create)
+
+create table provider (
+    id uuid not null,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(255) not null,
+    phone_number varchar(255) not null,
+    password_hash varchar(255) not null,
+    specialization varchar(100) not null,
+    license_number varchar(255) not null,
+    years_of_experience integer not null check (years_of_experience >= 0 and years_of_experience <= 50),
+    role varchar(255) not null,
+    clinic_street varchar(200) not null,
+    clinic_city varchar(100) not null,
+    clinic_state varchar(50) not null,
+    clinic_zip varchar(20) not null,
+    verification_status varchar(255) not null check (verification_status in ('PENDING','VERIFIED','REJECTED')),
+    is_active boolean not null,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    constraint pk_provider primary key (id),
+    constraint uk_provider_email unique (email),
+    constraint uk_provider_phone_number unique (phone_number),
+    constraint uk_provider_license_number unique (license_number)
+);
+
+create table patient (
+    id uuid not null,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(255) not null,
+    phone_number varchar(255) not null,
+    password_hash varchar(255) not null,
+    date_of_birth date not null,
+    gender varchar(255) not null check (gender in ('MALE','FEMALE','OTHER','PREFER_NOT_TO_SAY')),
+    street varchar(200) not null,
+    city varchar(100) not null,
+    state varchar(50) not null,
+    zip varchar(20) not null,
+    emergency_name varchar(100),
+    emergency_phone varchar(20),
+    emergency_relationship varchar(50),
+    insurance_provider varchar(255),
+    policy_number varchar(255),
+    email_verified boolean not null,
+    phone_verified boolean not null,
+    is_active boolean not null,
+    role varchar(255) not null,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    constraint pk_patient primary key (id),
+    constraint uk_patient_email unique (email),
+    constraint uk_patient_phone_number unique (phone_number)
+);
+
+create table patient_medical_history (
+    patient_id uuid not null,
+    medical_history varchar(255),
+    constraint fk_patient_medical_history_patient foreign key (patient_id) references patient (id)
+);
+
+create table provider_availability (
+    id uuid not null,
+    provider_id uuid not null,
+    date date not null,
+    start_time time(6) not null,
+    end_time time(6) not null,
+    timezone varchar(255) not null,
+    is_recurring boolean not null,
+    recurrence_pattern varchar(255) check (recurrence_pattern in ('DAILY','WEEKLY','MONTHLY')),
+    recurrence_end_date date,
+    slot_duration integer not null,
+    break_duration integer not null,
+    status varchar(255) not null check (status in ('AVAILABLE','BOOKED','CANCELLED','BLOCKED','MAINTENANCE')),
+    max_appointments_per_slot integer not null,
+    current_appointments integer not null,
+    appointment_type varchar(255) not null check (appointment_type in ('CONSULTATION','FOLLOW_UP','EMERGENCY','TELEMEDICINE')),
+    type varchar(255) not null check (type in ('CLINIC','HOSPITAL','TELEMEDICINE','HOME_VISIT')),
+    address varchar(255),
+    room_number varchar(255),
+    base_fee numeric(38,2),
+    insurance_accepted boolean,
+    currency varchar(255),
+    notes varchar(500),
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    constraint pk_provider_availability primary key (id),
+    constraint fk_provider_availability_provider foreign key (provider_id) references provider (id)
+);
+
+create table provider_availability_special_requirements (
+    provider_availability_id uuid not null,
+    special_requirements varchar(255),
+    constraint fk_special_requirements_availability foreign key (provider_availability_id) references provider_availability (id)
+);
+
+create table appointment_slot (
+    id uuid not null,
+    availability_id uuid not null,
+    provider_id uuid not null,
+    patient_id uuid,
+    slot_start_time timestamp(6) with time zone not null,
+    slot_end_time timestamp(6) with time zone not null,
+    status varchar(255) not null check (status in ('AVAILABLE','BOOKED','CANCELLED','BLOCKED')),
+    booking_reference varchar(255) not null,
+    appointment_type varchar(255) not null,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone,
+    constraint pk_appointment_slot primary key (id),
+    constraint uk_appointment_slot_booking_reference unique (booking_reference),
+    constraint fk_appointment_slot_availability foreign key (availability_id) references provider_availability (id),
+    constraint fk_appointment_slot_provider foreign key (provider_id) references provider (id),
+    constraint fk_appointment_slot_patient foreign key (patient_id) references patient (id)
+);
+
+create table refresh_token (
+    id uuid not null,
+    subject_id uuid not null,
+    subject_type varchar(16) not null check (subject_type in ('PROVIDER','PATIENT')),
+    token_hash varchar(64) not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked boolean not null,
+    created_at timestamp(6) with time zone,
+    constraint pk_refresh_token primary key (id)
+);
+
+create index idx_refresh_token_expires_at on refresh_token (expires_at);
+
+create table email_outbox (
+    id uuid not null,
+    recipient varchar(255) not null,
+    subject varchar(200) not null,
+    body varchar(4000) not null,
+    status varchar(16) not null check (status in ('PENDING','SENT','FAILED')),
+    attempts integer not null,
+    next_attempt_at timestamp(6) with time zone not null,
+    last_error varchar(1000),
+    created_at timestamp(6) with time zone,
+    sent_at timestamp(6) with time zone,
+    constraint pk_email_outbox primary key (id)
+);
+
+create index idx_email_outbox_status_next_attempt on email_outbox (status, next_attempt_at);
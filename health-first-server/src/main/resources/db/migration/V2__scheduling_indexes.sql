@@ -0,0 +1,14 @@
+-- Availability by provider and date range (findByProviderAndDateBetween, streamForRange, conflict checks)
+create index idx_provider_availability_provider_date on provider_availability (provider_id, date);
+
+-- Slots by provider and time range (findByProviderAndSlotStartTimeBetween)
+create index idx_appointment_slot_provider_start on appointment_slot (provider_id, slot_start_time);
+
+-- Slots of an availability (findByAvailability, bulk deletes by availability)
+create index idx_appointment_slot_availability on appointment_slot (availability_id);
+
+-- Slots by provider and status, already in start order (findByProviderAndStatus[Not], search)
+create index idx_appointment_slot_provider_status_start on appointment_slot (provider_id, status, slot_start_time);
+
+-- Element collection loaded with every availability
+create index idx_special_requirements_availability on provider_availability_special_requirements (provider_availability_id);
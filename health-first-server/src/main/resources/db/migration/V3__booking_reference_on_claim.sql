@@ -0,0 +1,4 @@
+-- Booking references are issued when a slot is booked; open slots have none
+alter table appointment_slot alter column booking_reference drop not null;
+
+update appointment_slot set booking_reference = null where status = 'AVAILABLE';
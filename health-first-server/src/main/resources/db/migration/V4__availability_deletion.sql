@@ -0,0 +1,13 @@
+-- Audit trail of deleted availabilities with the reason given; no foreign keys, the rows it names are gone
+create table availability_deletion (
+    id uuid not null,
+    availability_id uuid not null,
+    provider_id uuid not null,
+    recurring boolean not null,
+    deleted_slots integer not null,
+    reason varchar(500),
+    deleted_at timestamp(6) with time zone,
+    constraint pk_availability_deletion primary key (id)
+);
+
+create index idx_availability_deletion_provider on availability_deletion (provider_id, deleted_at);
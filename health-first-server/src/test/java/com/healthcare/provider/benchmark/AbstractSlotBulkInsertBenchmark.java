@@ -0,0 +1,148 @@
+package com.healthcare.provider.benchmark;
+
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.id.UuidV7;
+import com.healthcare.provider.repository.AppointmentSlotRepository;
+import com.healthcare.provider.repository.ProviderAvailabilityRepository;
+import com.healthcare.provider.repository.ProviderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures rows/sec of the JDBC-batched slot insert path. Opt-in with -Dbenchmark=true.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+abstract class AbstractSlotBulkInsertBenchmark {
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private ProviderAvailabilityRepository availabilityRepository;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+
+    protected abstract String databaseName();
+
+    /** Size of the slot primary-key index after the inserts, where the database can report it. */
+    protected long primaryKeyIndexBytes() {
+        return -1;
+    }
+
+    enum IdStrategy {
+        RANDOM(UUID::randomUUID),
+        TIME_ORDERED(UuidV7::next);
+
+        final Supplier<UUID> ids;
+
+        IdStrategy(Supplier<UUID> ids) {
+            this.ids = ids;
+        }
+    }
+
+    // Fills a large table in chunks; with random ids the later chunks slow down as every insert hits a cold page
+    @ParameterizedTest
+    @EnumSource(IdStrategy.class)
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void insertSlotsByIdStrategy(IdStrategy strategy) {
+        int chunks = 20;
+        int chunkSize = 25_000;
+        ProviderAvailability availability = createAvailability();
+        long total = 0;
+        long lastChunks = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            List<AppointmentSlot> slots = buildSlots(availability, chunkSize, chunk * chunkSize);
+            slots.forEach(slot -> slot.setId(strategy.ids.get()));
+            long start = System.nanoTime();
+            assertEquals(chunkSize, slotRepository.insertAll(slots));
+            long elapsed = System.nanoTime() - start;
+            total += elapsed;
+            if (chunk >= chunks - 5) lastChunks += elapsed;
+        }
+        int rows = chunks * chunkSize;
+        log.info("[{}] {} ids: {} slots in {} ms ({} rows/sec), last {} rows at {} rows/sec, pk index {} bytes",
+                databaseName(), strategy, rows, total / 1_000_000, Math.round(rows / (total / 1e9)),
+                5 * chunkSize, Math.round(5 * chunkSize / (lastChunks / 1e9)), primaryKeyIndexBytes());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    void insertSlots(int rows) {
+        ProviderAvailability availability = createAvailability();
+        List<AppointmentSlot> slots = buildSlots(availability, rows, 0);
+        long start = System.nanoTime();
+        int written = slotRepository.insertAll(slots);
+        long elapsed = System.nanoTime() - start;
+        assertEquals(rows, written);
+        log.info("[{}] inserted {} slots in {} ms ({} rows/sec)",
+                databaseName(), rows, elapsed / 1_000_000, Math.round(rows / (elapsed / 1e9)));
+    }
+
+    private ProviderAvailability createAvailability() {
+        ProviderAvailability.Location location = new ProviderAvailability.Location();
+        location.setType(ProviderAvailability.Location.LocationType.CLINIC);
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        Provider provider = providerRepository.save(Provider.builder()
+                .firstName("Bench")
+                .lastName("Provider")
+                .email("bench-" + suffix + "@clinic.com")
+                .phoneNumber("+1" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .specialization("Cardiology")
+                .licenseNumber("LIC" + suffix)
+                .yearsOfExperience(5)
+                .clinicAddress(Provider.ClinicAddress.builder()
+                        .street("1 Bench St").city("Austin").state("TX").zip("73301").build())
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build());
+        return availabilityRepository.save(ProviderAvailability.builder()
+                .provider(provider)
+                .date(LocalDate.now())
+                .startTime(LocalTime.of(0, 0))
+                .endTime(LocalTime.of(23, 45))
+                .timezone("UTC")
+                .isRecurring(true)
+                .recurrencePattern(ProviderAvailability.RecurrencePattern.DAILY)
+                .recurrenceEndDate(LocalDate.now().plusYears(3))
+                .slotDuration(15)
+                .status(ProviderAvailability.SlotStatus.AVAILABLE)
+                .maxAppointmentsPerSlot(1)
+                .appointmentType(ProviderAvailability.AppointmentType.CONSULTATION)
+                .location(location)
+                .build());
+    }
+
+    private List<AppointmentSlot> buildSlots(ProviderAvailability availability, int rows, int offset) {
+        List<AppointmentSlot> slots = new ArrayList<>(rows);
+        ZonedDateTime start = LocalDate.now().atStartOfDay(ZoneOffset.UTC);
+        for (int i = offset; i < offset + rows; i++) {
+            ZonedDateTime slotStart = start.plusMinutes(15L * i);
+            slots.add(AppointmentSlot.builder()
+                    .availability(availability)
+                    .provider(availability.getProvider())
+                    .slotStartTime(slotStart)
+                    .slotEndTime(slotStart.plusMinutes(15))
+                    .status(AppointmentSlot.SlotStatus.AVAILABLE)
+                    .appointmentType("CONSULTATION")
+                    .build());
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,138 @@
+package com.healthcare.provider.benchmark;
+
+import com.healthcare.provider.dto.ProviderAvailabilityRequest;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.repository.AppointmentSlotRepository;
+import com.healthcare.provider.repository.AvailabilityView;
+import com.healthcare.provider.repository.ProviderAvailabilityRepository;
+import com.healthcare.provider.repository.ProviderRepository;
+import com.healthcare.provider.service.ProviderAvailabilityService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bytes allocated loading a month of 15-minute slots for an availability listing: the projection queries behind
+ * getAvailabilities against the same rows as managed entities, plus the whole listing. Opt-in with -Dbenchmark=true.
+ */
+// Caches off, so both paths read every row from the database instead of assembling it from cached state
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class AvailabilityListingAllocationBenchmarkTest {
+    private static final LocalDate START = LocalDate.of(2031, 3, 1);
+    private static final int DAYS = 30;
+    private static final int SLOTS_PER_DAY = 40;
+
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private ProviderAvailabilityRepository availabilityRepository;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Provider provider;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        provider = providerRepository.save(Provider.builder()
+                .firstName("Month")
+                .lastName("Listing")
+                .email("listing-" + suffix + "@clinic.com")
+                .phoneNumber("+1" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .specialization("Cardiology")
+                .licenseNumber("LIC" + suffix)
+                .yearsOfExperience(5)
+                .clinicAddress(Provider.ClinicAddress.builder()
+                        .street("1 Main St").city("Austin").state("TX").zip("73301").build())
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build());
+        for (int day = 0; day < DAYS; day++) {
+            availabilityService.createAvailability(provider.getId(), ProviderAvailabilityRequest.builder()
+                    .date(START.plusDays(day))
+                    .startTime(LocalTime.of(8, 0))
+                    .endTime(LocalTime.of(18, 0))
+                    .timezone("America/New_York")
+                    .slotDuration(15)
+                    .appointmentType("consultation")
+                    .location(ProviderAvailabilityRequest.Location.builder().type("clinic").build())
+                    .pricing(ProviderAvailabilityRequest.Pricing.builder().baseFee(new BigDecimal("100")).currency("USD").build())
+                    .specialRequirements(List.of("bring_id"))
+                    .build());
+        }
+    }
+
+    @Test
+    void projectionsAllocateLessThanEntities() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        LocalDate end = START.plusDays(DAYS - 1);
+
+        long projections = measure("projections", () -> readOnly.execute(status -> {
+            List<AvailabilityView> availabilities = availabilityRepository.findViewsForRange(provider.getId(), START, end, null);
+            availabilityRepository.findSpecialRequirementViews(availabilities.stream().map(AvailabilityView::id).toList());
+            return slotRepository.findViewsByAvailabilityIn(availabilities).size();
+        }));
+        // What getAvailabilities loaded before: managed availabilities with their requirements, then managed slots
+        long entities = measure("entities", () -> readOnly.execute(status -> {
+            List<ProviderAvailability> availabilities = availabilityRepository.findWithRequirementsByProviderAndDateBetween(provider, START, end);
+            return slotRepository.findByAvailabilityInOrderBySlotStartTime(availabilities).size();
+        }));
+        // For scale: the same projections plus building the response objects
+        measure("getAvailabilities", () -> availabilityService.getAvailabilities(provider.getId(), START, end, null, null, null)
+                .stream().mapToInt(response -> response.getSlots().size()).sum());
+
+        log.info("[listing] projections allocate {}% of the entities", Math.round(100.0 * projections / entities));
+        assertTrue(projections < entities);
+    }
+
+    /** Average bytes allocated by the calling thread per run, after a warm-up. */
+    private long measure(String label, IntSupplier listing) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 20; i++) {
+            assertEquals(DAYS * SLOTS_PER_DAY, listing.getAsInt());
+        }
+        int runs = 50;
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long began = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            listing.getAsInt();
+        }
+        long bytes = (threads.getThreadAllocatedBytes(threadId) - before) / runs;
+        log.info("[listing] {}: {} slots, {} KiB allocated and {} ms per listing", label, DAYS * SLOTS_PER_DAY,
+                String.format("%.1f", bytes / 1024.0), String.format("%.2f", (System.nanoTime() - began) / 1e6 / runs));
+        return bytes;
+    }
+}
@@ -0,0 +1,98 @@
+package com.healthcare.provider.benchmark;
+
+import com.healthcare.provider.dto.AvailabilitySearchRequest;
+import com.healthcare.provider.dto.AvailabilitySearchResponse;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.repository.AppointmentSlotRepository;
+import com.healthcare.provider.repository.ProviderAvailabilityRepository;
+import com.healthcare.provider.scheduling.SlotGenerator;
+import com.healthcare.provider.search.AvailabilitySearchIndex;
+import com.healthcare.provider.service.impl.AvailabilitySearchServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Search latency over 10k providers with a year-long daily availability each. Opt-in with -Dbenchmark=true.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AvailabilitySearchBenchmarkTest {
+    private static final int PROVIDERS = 10_000;
+    private static final String[] SPECIALIZATIONS = {"Cardiology", "Dermatology", "Neurology", "Pediatrics", "Oncology",
+            "Orthopedics", "Psychiatry", "Radiology", "Urology", "Endocrinology"};
+
+    @Test
+    void searchTenThousandProviders() {
+        SlotGenerator slotGenerator = new SlotGenerator();
+        AvailabilitySearchIndex index = new AvailabilitySearchIndex(
+                Mockito.mock(ProviderAvailabilityRepository.class), Mockito.mock(AppointmentSlotRepository.class), slotGenerator);
+        // Empty load, as at startup, so the searched date falls in the indexed window
+        index.load();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < PROVIDERS; i++) {
+            index.put(availability(i, today));
+        }
+        AvailabilitySearchServiceImpl service = new AvailabilitySearchServiceImpl(index, slotGenerator);
+        AvailabilitySearchRequest request = AvailabilitySearchRequest.builder()
+                .date(today.plusDays(30))
+                .specialization("cardiology")
+                .location("clinic")
+                .insuranceAccepted(true)
+                .maxPrice(new BigDecimal("150"))
+                .availableOnly(true)
+                .build();
+        for (int i = 0; i < 200; i++) service.search(request); // warm-up
+        long[] samples = new long[500];
+        AvailabilitySearchResponse response = null;
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            response = service.search(request);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        log.info("[search] {} providers, {} results: p50={} ms p99={} ms", PROVIDERS, response.getTotalResults(),
+                String.format("%.2f", samples[samples.length / 2] / 1e6), String.format("%.2f", samples[samples.length * 99 / 100] / 1e6));
+        assertTrue(response.getTotalResults() > 0);
+    }
+
+    private ProviderAvailability availability(int i, LocalDate today) {
+        Provider provider = Provider.builder()
+                .id(UUID.randomUUID())
+                .firstName("Provider")
+                .lastName(String.valueOf(i))
+                .specialization(SPECIALIZATIONS[i % SPECIALIZATIONS.length])
+                .yearsOfExperience(i % 30)
+                .build();
+        ProviderAvailability.Location location = new ProviderAvailability.Location();
+        location.setType(ProviderAvailability.Location.LocationType.values()[i % 4]);
+        ProviderAvailability.Pricing pricing = new ProviderAvailability.Pricing();
+        pricing.setBaseFee(BigDecimal.valueOf(50 + (i % 200)));
+        pricing.setInsuranceAccepted(i % 3 != 0);
+        return ProviderAvailability.builder()
+                .id(UUID.randomUUID())
+                .provider(provider)
+                .date(today)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .timezone("America/New_York")
+                .isRecurring(true)
+                .recurrencePattern(ProviderAvailability.RecurrencePattern.DAILY)
+                .recurrenceEndDate(today.plusYears(1))
+                .slotDuration(30)
+                .appointmentType(ProviderAvailability.AppointmentType.values()[i % 4])
+                .location(location)
+                .pricing(pricing)
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.healthcare.provider.benchmark;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest(properties = "logging.level.org.hibernate=WARN")
+class H2SlotBulkInsertBenchmarkTest extends AbstractSlotBulkInsertBenchmark {
+    @Override
+    protected String databaseName() {
+        return "h2";
+    }
+}
@@ -0,0 +1,44 @@
+package com.healthcare.provider.benchmark;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@DataJpaTest(properties = "logging.level.org.hibernate=WARN")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresSlotBulkInsertBenchmarkTest extends AbstractSlotBulkInsertBenchmark {
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withUrlParam("reWriteBatchedInserts", "true");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Override
+    protected String databaseName() {
+        return "postgresql";
+    }
+
+    @Override
+    protected long primaryKeyIndexBytes() {
+        // The table is partitioned by month, so the primary key is one index per partition
+        return jdbcTemplate.queryForObject("select coalesce(sum(pg_relation_size(inhrelid)), 0) from pg_inherits "
+                + "where inhparent = 'pk_appointment_slot'::regclass", Long.class);
+    }
+}
@@ -0,0 +1,123 @@
+package com.healthcare.provider.controller;
+
+import com.healthcare.provider.dto.ProviderAvailabilityRequest;
+import com.healthcare.provider.dto.ProviderAvailabilityResponse;
+import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.repository.PatientRepository;
+import com.healthcare.provider.repository.ProviderRepository;
+import com.healthcare.provider.security.JwtTokenProvider;
+import com.healthcare.provider.service.ProviderAvailabilityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureMockMvc
+class AppointmentSlotControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private Provider provider;
+    private Patient patient;
+    private Patient otherPatient;
+    private UUID slotId;
+
+    @BeforeEach
+    void setUp() {
+        provider = provider();
+        patient = patient();
+        otherPatient = patient();
+        ProviderAvailabilityResponse availability = availabilityService.createAvailability(provider.getId(), ProviderAvailabilityRequest.builder()
+                .date(LocalDate.of(2030, 6, 4))
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(10, 0))
+                .timezone("UTC")
+                .slotDuration(30)
+                .appointmentType("consultation")
+                .location(ProviderAvailabilityRequest.Location.builder().type("clinic").build())
+                .pricing(ProviderAvailabilityRequest.Pricing.builder().baseFee(new BigDecimal("100")).currency("USD").build())
+                .build());
+        slotId = availability.getSlots().get(0).getSlotId();
+    }
+
+    @Test
+    void slotIsBookedForTheAuthenticatedPatientWhateverTheBodySays() throws Exception {
+        mockMvc.perform(post("/api/v1/slots/{slotId}/book", slotId)
+                        .header("Authorization", "Bearer " + tokenProvider.generateTokenForPatient(patient, 3600))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"patientId\":\"" + otherPatient.getId() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.patientId").value(patient.getId().toString()));
+    }
+
+    @Test
+    void providerTokenCannotBook() throws Exception {
+        mockMvc.perform(post("/api/v1/slots/{slotId}/book", slotId)
+                        .header("Authorization", "Bearer " + tokenProvider.generateToken(provider)))
+                .andExpect(status().isForbidden());
+    }
+
+    private Provider provider() {
+        String suffix = suffix();
+        return providerRepository.save(Provider.builder()
+                .firstName("Slot")
+                .lastName("Owner")
+                .email("slot-owner-" + suffix + "@clinic.com")
+                .phoneNumber("+1" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .specialization("Cardiology")
+                .licenseNumber("LIC" + suffix)
+                .yearsOfExperience(5)
+                .clinicAddress(Provider.ClinicAddress.builder()
+                        .street("1 Main St").city("Austin").state("TX").zip("73301").build())
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build());
+    }
+
+    private Patient patient() {
+        String suffix = suffix();
+        return patientRepository.save(Patient.builder()
+                .firstName("Slot")
+                .lastName("Booker")
+                .email("booker-" + suffix + "@mail.com")
+                .phoneNumber("+2" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .gender(Patient.Gender.OTHER)
+                .address(Patient.Address.builder().street("2 Side St").city("Austin").state("TX").zip("73301").build())
+                .isActive(true)
+                .build());
+    }
+
+    private static String suffix() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+    }
+}
@@ -0,0 +1,122 @@
+package com.healthcare.provider.controller;
+
+import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.repository.PatientRepository;
+import com.healthcare.provider.repository.ProviderRepository;
+import com.healthcare.provider.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureMockMvc
+class ProviderAvailabilityControllerTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 6, 3);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private Provider provider;
+    private Provider otherProvider;
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        provider = provider();
+        otherProvider = provider();
+        String suffix = suffix();
+        patient = patientRepository.save(Patient.builder()
+                .firstName("Pat")
+                .lastName("Ient")
+                .email("patient-" + suffix + "@mail.com")
+                .phoneNumber("+2" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .gender(Patient.Gender.OTHER)
+                .address(Patient.Address.builder().street("2 Side St").city("Austin").state("TX").zip("73301").build())
+                .isActive(true)
+                .build());
+    }
+
+    @Test
+    void patientTokenIsForbiddenOnProviderEndpoints() throws Exception {
+        String token = tokenProvider.generateTokenForPatient(patient, 3600);
+
+        mockMvc.perform(as(token, listing(provider))).andExpect(status().isForbidden());
+        mockMvc.perform(as(token, delete("/api/v1/provider/availability/{id}", UUID.randomUUID())
+                .param("providerId", provider.getId().toString()))).andExpect(status().isForbidden());
+        mockMvc.perform(as(token, post("/api/v1/patient/register").contentType(MediaType.APPLICATION_JSON).content("{}")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void providerCanOnlyReachTheirOwnAvailability() throws Exception {
+        String token = tokenProvider.generateToken(provider);
+
+        mockMvc.perform(as(token, listing(provider))).andExpect(status().isOk());
+        mockMvc.perform(as(token, listing(otherProvider))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void missingTokenIsForbidden() throws Exception {
+        mockMvc.perform(listing(provider)).andExpect(status().isForbidden());
+    }
+
+    private static MockHttpServletRequestBuilder listing(Provider owner) {
+        return get("/api/v1/provider/availability")
+                .param("providerId", owner.getId().toString())
+                .param("startDate", DAY.toString())
+                .param("endDate", DAY.toString());
+    }
+
+    private static MockHttpServletRequestBuilder as(String token, MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private Provider provider() {
+        String suffix = suffix();
+        return providerRepository.save(Provider.builder()
+                .firstName("Owner")
+                .lastName("Check")
+                .email("owner-" + suffix + "@clinic.com")
+                .phoneNumber("+1" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .specialization("Cardiology")
+                .licenseNumber("LIC" + suffix)
+                .yearsOfExperience(5)
+                .clinicAddress(Provider.ClinicAddress.builder()
+                        .street("1 Main St").city("Austin").state("TX").zip("73301").build())
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build());
+    }
+
+    private static String suffix() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+    }
+}
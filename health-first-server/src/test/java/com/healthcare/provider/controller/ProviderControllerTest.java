@@ -2,6 +2,7 @@ package com.healthcare.provider.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.healthcare.provider.dto.ProviderCreateRequest;
+import com.healthcare.provider.security.LoginThrottle;
 import com.healthcare.provider.service.ProviderService;
 import com.healthcare.provider.service.dto.ProviderRegistrationResponse;
 import org.junit.jupiter.api.Test;
@@ -26,6 +27,8 @@ class ProviderControllerTest {
     private ObjectMapper objectMapper;
     @MockBean
     private ProviderService providerService;
+    @MockBean
+    private LoginThrottle loginThrottle;
 
     private ProviderCreateRequest getValidRequest() {
         return ProviderCreateRequest.builder()
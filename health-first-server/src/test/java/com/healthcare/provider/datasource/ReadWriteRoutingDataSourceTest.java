@@ -0,0 +1,128 @@
+package com.healthcare.provider.datasource;
+
+import com.healthcare.provider.CustomEMrManagementApplication;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.repository.ProviderRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Two in-memory H2 databases stand in for the primary and the replica; the second-level cache is off
+// so every read reaches whichever database it was routed to
+@SpringBootTest(classes = CustomEMrManagementApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "database.replica.enabled=true",
+        "database.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "database.replica.username=sa",
+        "database.replica.lag-query=select seconds from replica_lag",
+        "database.replica.max-lag=5s",
+        "database.replica.lag-check-interval=PT1H",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "logging.level.org.hibernate=WARN"
+})
+class ReadWriteRoutingDataSourceTest {
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists replica_lag (seconds int)");
+        replica.execute("delete from replica_lag");
+        replica.update("insert into replica_lag values (0)");
+        lagMonitor.check();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertEquals("REPLICA", databaseName(true));
+        assertEquals("PRIMARY", databaseName(false));
+    }
+
+    @Test
+    void writesGoToThePrimaryAndReadOnlyQueriesSeeTheReplica() {
+        String email = "routing-" + UUID.randomUUID().toString().substring(0, 8) + "@clinic.com";
+        inTransaction(false, () -> providerRepository.save(provider(email)));
+        assertEquals(true, inTransaction(false, () -> providerRepository.findByEmail(email).isPresent()));
+        // Nothing replicates between the two stand-ins, so the replica has never seen the row
+        assertEquals(false, inTransaction(true, () -> providerRepository.findByEmail(email).isPresent()));
+    }
+
+    @Test
+    void laggingReplicaSendsReadsToThePrimary() {
+        replica.update("update replica_lag set seconds = 60");
+        lagMonitor.check();
+        assertEquals("PRIMARY", databaseName(true));
+
+        replica.update("update replica_lag set seconds = 1");
+        lagMonitor.check();
+        assertEquals("REPLICA", databaseName(true));
+    }
+
+    @Test
+    void pinnedWorkInAReadOnlyTransactionUsesThePrimary() {
+        assertEquals("PRIMARY", inTransaction(true, () -> ReadWriteRoutingDataSource.onPrimary(
+                () -> new JdbcTemplate(dataSource).queryForObject("select database()", String.class))));
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, inTransaction(true, () -> {
+            ReadWriteRoutingDataSource.onPrimary(() -> providerRepository.count());
+            return ReadWriteRoutingDataSource.currentRoute();
+        }));
+        // Too late once the transaction holds a replica connection; the route says so
+        assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, inTransaction(true, () -> {
+            providerRepository.count();
+            ReadWriteRoutingDataSource.onPrimary(() -> providerRepository.count());
+            return ReadWriteRoutingDataSource.currentRoute();
+        }));
+    }
+
+    private String databaseName(boolean readOnly) {
+        return inTransaction(readOnly, () -> new JdbcTemplate(dataSource).queryForObject("select database()", String.class));
+    }
+
+    private <T> T inTransaction(boolean readOnly, java.util.function.Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> work.get());
+    }
+
+    private static Provider provider(String email) {
+        return Provider.builder()
+                .firstName("Route")
+                .lastName("Provider")
+                .email(email)
+                .phoneNumber("+1" + Math.abs(email.hashCode()))
+                .passwordHash("hashed")
+                .specialization("Cardiology")
+                .licenseNumber("LIC" + Math.abs(email.hashCode()))
+                .yearsOfExperience(5)
+                .clinicAddress(Provider.ClinicAddress.builder()
+                        .street("1 Route St").city("Austin").state("TX").zip("73301").build())
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build();
+    }
+}
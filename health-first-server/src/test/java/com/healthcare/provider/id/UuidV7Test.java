@@ -0,0 +1,58 @@
+package com.healthcare.provider.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void nextIsVersion7AndStrictlyIncreasing() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID id = UuidV7.next();
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+            // Unsigned order of the high bits is insertion order
+            assertTrue(Long.compareUnsigned(id.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = id;
+        }
+        assertTrue(Math.abs(UuidV7.timestamp(previous) - System.currentTimeMillis()) < 5_000);
+    }
+
+    @Test
+    void nameBasedIdsAreStableAndCarryTheTimestamp() {
+        byte[] name = "availability:1700000000".getBytes(StandardCharsets.UTF_8);
+        UUID id = UuidV7.of(1_700_000_000_000L, name);
+        assertEquals(id, UuidV7.of(1_700_000_000_000L, name));
+        assertNotEquals(id, UuidV7.of(1_700_000_000_000L, "other".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(7, id.version());
+        assertEquals(1_700_000_000_000L, UuidV7.timestamp(id));
+    }
+
+    @Test
+    void idsAtATimeAreRandomAndCarryIt() {
+        UUID id = UuidV7.at(1_700_000_000_000L);
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(1_700_000_000_000L, UuidV7.timestamp(id));
+        assertNotEquals(id, UuidV7.at(1_700_000_000_000L));
+    }
+
+    @Test
+    void base32IsFixedWidthAndDistinct() {
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            String reference = UuidV7.toBase32(UuidV7.next());
+            assertEquals(26, reference.length());
+            assertTrue(seen.add(reference));
+        }
+        assertEquals("00000000000000000000000000", UuidV7.toBase32(new UUID(0, 0)));
+        assertEquals("7ZZZZZZZZZZZZZZZZZZZZZZZZZ", UuidV7.toBase32(new UUID(-1, -1)));
+    }
+}
@@ -0,0 +1,26 @@
+package com.healthcare.provider.registration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void neverForgetsAKey() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.put("provider.email:user" + i + "@clinic.com");
+        for (int i = 0; i < 10_000; i++) assertTrue(filter.mightContain("provider.email:user" + i + "@clinic.com"));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.put("provider.phone:+1" + i);
+        int falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain("provider.phone:+1" + i)) falsePositives++;
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,78 @@
+package com.healthcare.provider.repository;
+
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.id.UuidV7;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "logging.level.org.hibernate=WARN")
+class AppointmentSlotRepositoryTest {
+    private static final ZonedDateTime START = ZonedDateTime.of(2030, 7, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+    @Autowired
+    private ProviderAvailabilityRepository availabilityRepository;
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Test
+    void slotSavedWithoutAnIdIsFoundAndBookedByIt() {
+        ProviderAvailability availability = availability();
+        AppointmentSlot slot = slotRepository.saveAndFlush(AppointmentSlot.builder()
+                .availability(availability)
+                .provider(availability.getProvider())
+                .slotStartTime(START)
+                .slotEndTime(START.plusMinutes(30))
+                .appointmentType("consultation")
+                .build());
+
+        assertEquals(START.toInstant().toEpochMilli(), UuidV7.timestamp(slot.getId()));
+        assertTrue(slotRepository.findSlot(slot.getId()).isPresent());
+        assertEquals(1, slotRepository.transition(slot.getId(), AppointmentSlot.SlotStatus.AVAILABLE,
+                AppointmentSlot.SlotStatus.BLOCKED, null, null, ZonedDateTime.now(ZoneOffset.UTC)));
+    }
+
+    private ProviderAvailability availability() {
+        ProviderAvailability.Location location = new ProviderAvailability.Location();
+        location.setType(ProviderAvailability.Location.LocationType.CLINIC);
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        Provider provider = providerRepository.save(Provider.builder()
+                .firstName("Slot")
+                .lastName("Ids")
+                .email("slot-ids-" + suffix + "@clinic.com")
+                .phoneNumber("+1" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .specialization("Cardiology")
+                .licenseNumber("LIC" + suffix)
+                .yearsOfExperience(5)
+                .clinicAddress(Provider.ClinicAddress.builder()
+                        .street("1 Main St").city("Austin").state("TX").zip("73301").build())
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build());
+        return availabilityRepository.save(ProviderAvailability.builder()
+                .provider(provider)
+                .date(LocalDate.of(2030, 7, 1))
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(10, 0))
+                .timezone("UTC")
+                .slotDuration(30)
+                .status(ProviderAvailability.SlotStatus.AVAILABLE)
+                .maxAppointmentsPerSlot(1)
+                .appointmentType(ProviderAvailability.AppointmentType.CONSULTATION)
+                .location(location)
+                .build());
+    }
+}
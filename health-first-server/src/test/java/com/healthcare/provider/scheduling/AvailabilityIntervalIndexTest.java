@@ -0,0 +1,90 @@
+package com.healthcare.provider.scheduling;
+
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.repository.ProviderAvailabilityRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+class AvailabilityIntervalIndexTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 6, 3);
+
+    private final ProviderAvailabilityRepository availabilityRepo = Mockito.mock(ProviderAvailabilityRepository.class);
+    private final Provider provider = Provider.builder().id(UUID.randomUUID()).build();
+    private AvailabilityIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AvailabilityIntervalIndex(availabilityRepo, new SlotGenerator(), new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(index, "init");
+    }
+
+    @Test
+    void eventsKeepALoadedProviderCurrent() {
+        Mockito.when(availabilityRepo.findByProvider(any())).thenReturn(List.of());
+        ProviderAvailability morning = availability(9, 12);
+        assertFalse(index.hasConflict(provider, morning));
+
+        index.onAvailabilityChanged(AvailabilityChangedEvent.created(morning));
+        assertTrue(index.hasConflict(provider, availability(11, 13)));
+
+        index.onAvailabilityChanged(AvailabilityChangedEvent.deleted(provider.getId(), morning.getId()));
+        assertFalse(index.hasConflict(provider, availability(11, 13)));
+        Mockito.verify(availabilityRepo, Mockito.times(1)).findByProvider(any());
+    }
+
+    @Test
+    void availabilityCreatedWhileTheFirstLoadIsInFlightIsNotLost() throws Exception {
+        ProviderAvailability morning = availability(9, 12);
+        ProviderAvailability afternoon = availability(14, 17);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        // The first load reads before the afternoon commits; any later load sees both
+        Mockito.when(availabilityRepo.findByProvider(any())).thenAnswer(invocation -> {
+            if (loads.getAndIncrement() > 0) return List.of(morning, afternoon);
+            loading.countDown();
+            assertTrue(committed.await(10, TimeUnit.SECONDS));
+            return List.of(morning);
+        });
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<Boolean> firstCheck = pool.submit(() -> index.hasConflict(provider, availability(15, 16)));
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+        index.onAvailabilityChanged(AvailabilityChangedEvent.created(afternoon));
+        committed.countDown();
+        // Same answer a database query would have given at the time of the read
+        assertFalse(firstCheck.get(10, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        assertTrue(index.hasConflict(provider, availability(15, 16)));
+        assertTrue(index.hasConflict(provider, availability(15, 16)));
+        assertEquals(2, loads.get());
+    }
+
+    private ProviderAvailability availability(int startHour, int endHour) {
+        return ProviderAvailability.builder()
+                .id(UUID.randomUUID())
+                .provider(provider)
+                .date(DAY)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .timezone("UTC")
+                .slotDuration(30)
+                .appointmentType(ProviderAvailability.AppointmentType.CONSULTATION)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.healthcare.provider.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayOccupancyMapTest {
+
+    @Test
+    void rangesCrossWordBoundaries() {
+        DayOccupancyMap map = new DayOccupancyMap();
+        map.set(60, 130);
+        assertTrue(map.intersects(129, 200));
+        assertFalse(map.intersects(130, 200));
+        assertFalse(map.intersects(0, 60));
+        assertEquals(60, map.nextSetBit(0));
+        assertEquals(130, map.nextClearBit(60));
+        map.clear(64, 128);
+        assertEquals(2, map.runs().size());
+        assertArrayEquals(new int[]{128, 130}, map.runs().get(1));
+    }
+
+    @Test
+    void andNotLeavesFreeRuns() {
+        DayOccupancyMap open = new DayOccupancyMap();
+        open.set(0, DayOccupancyMap.BITS);
+        DayOccupancyMap busy = new DayOccupancyMap();
+        busy.set(DayOccupancyMap.floorBit(9 * 3600), DayOccupancyMap.ceilBit(9 * 3600 + 1));
+        List<int[]> runs = open.andNot(busy).runs();
+        assertEquals(2, runs.size());
+        assertArrayEquals(new int[]{0, 108}, runs.get(0));
+        assertArrayEquals(new int[]{109, DayOccupancyMap.BITS}, runs.get(1));
+    }
+
+    @Test
+    void matchesBitSetOnRandomRanges() {
+        Random random = new Random(7);
+        DayOccupancyMap map = new DayOccupancyMap();
+        BitSet expected = new BitSet(DayOccupancyMap.BITS);
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(DayOccupancyMap.BITS);
+            int to = from + random.nextInt(DayOccupancyMap.BITS - from + 1);
+            if (random.nextBoolean()) {
+                map.set(from, to);
+                expected.set(from, to);
+            } else {
+                map.clear(from, to);
+                expected.clear(from, to);
+            }
+            int q = random.nextInt(DayOccupancyMap.BITS);
+            int qEnd = q + random.nextInt(DayOccupancyMap.BITS - q + 1);
+            assertEquals(expected.get(q, qEnd).cardinality() > 0, map.intersects(q, qEnd));
+            int next = expected.nextSetBit(q);
+            assertEquals(next < 0 ? DayOccupancyMap.BITS : next, map.nextSetBit(q));
+            assertEquals(Math.min(expected.nextClearBit(q), DayOccupancyMap.BITS), map.nextClearBit(q));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.healthcare.provider.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    @Test
+    void overlapUsesHalfOpenIntervals() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        tree.insert(10, 20, 1);
+        assertTrue(tree.overlapsAny(15, 25));
+        assertTrue(tree.overlapsAny(0, 11));
+        assertFalse(tree.overlapsAny(20, 30));
+        assertFalse(tree.overlapsAny(0, 10));
+    }
+
+    @Test
+    void removeDropsOnlyTheMatchingInterval() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        tree.insert(10, 20, 1);
+        tree.insert(10, 20, 2);
+        assertTrue(tree.remove(10, 20, 1));
+        assertFalse(tree.remove(10, 20, 1));
+        assertEquals(List.of(2), tree.overlapping(0, 100));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void matchesLinearScanOnRandomIntervals() {
+        Random random = new Random(42);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        List<long[]> intervals = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(500);
+            tree.insert(start, end, i);
+            intervals.add(new long[]{start, end, i});
+        }
+        for (int i = 0; i < 1_000; i += 2) {
+            long[] interval = intervals.get(i);
+            assertTrue(tree.remove(interval[0], interval[1], (int) interval[2]));
+        }
+        for (int q = 0; q < 500; q++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(1_000);
+            List<Integer> expected = new ArrayList<>();
+            for (long[] interval : intervals) {
+                boolean removed = interval[2] < 1_000 && interval[2] % 2 == 0;
+                if (!removed && interval[0] < end && interval[1] > start) expected.add((int) interval[2]);
+            }
+            List<Integer> actual = tree.overlapping(start, end);
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+            assertEquals(!expected.isEmpty(), tree.overlapsAny(start, end));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.healthcare.provider.scheduling;
+
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.repository.AppointmentSlotRepository;
+import com.healthcare.provider.repository.ProviderAvailabilityRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.*;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+
+class ProviderOccupancyIndexTest {
+    private static final LocalDate TOMORROW = LocalDate.now(ZoneOffset.UTC).plusDays(1);
+
+    private final ProviderAvailabilityRepository availabilityRepo = Mockito.mock(ProviderAvailabilityRepository.class);
+    private final AppointmentSlotRepository slotRepo = Mockito.mock(AppointmentSlotRepository.class);
+    private final SlotGenerator slotGenerator = new SlotGenerator();
+    private final Provider provider = Provider.builder().id(UUID.randomUUID()).build();
+    private ProviderOccupancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProviderOccupancyIndex(availabilityRepo, slotRepo, slotGenerator, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "daysAhead", 30);
+        ReflectionTestUtils.invokeMethod(index, "init");
+    }
+
+    @Test
+    void deletingOneAvailabilityLeavesTheOthersInPlace() {
+        ProviderAvailability morning = availability(TOMORROW, 9, 12);
+        ProviderAvailability afternoon = availability(TOMORROW, 14, 17);
+        Mockito.when(availabilityRepo.findByProvider(any())).thenReturn(List.of(morning, afternoon));
+        assertTrue(index.mayConflict(provider, occurrences(availability(TOMORROW, 10, 11))));
+
+        index.onAvailabilityChanged(AvailabilityChangedEvent.deleted(provider.getId(), morning.getId()));
+
+        assertFalse(index.mayConflict(provider, occurrences(availability(TOMORROW, 10, 11))));
+        assertTrue(index.mayConflict(provider, occurrences(availability(TOMORROW, 15, 16))));
+        assertEquals(6, index.freeWindows(provider, at(TOMORROW, 0), at(TOMORROW.plusDays(1), 0), Duration.ofMinutes(30)).size());
+        Mockito.verify(availabilityRepo, Mockito.times(1)).findByProvider(any());
+    }
+
+    @Test
+    void updatesKeepBookedSlotsTheNewRuleStillGenerates() {
+        ProviderAvailability availability = availability(TOMORROW, 9, 12);
+        Mockito.when(availabilityRepo.findByProvider(any())).thenReturn(List.of(availability));
+        AppointmentSlot nine = slotGenerator.generate(availability).get(0);
+        Instant from = at(TOMORROW, 0);
+        Instant to = at(TOMORROW.plusDays(1), 0);
+        assertEquals(6, index.freeWindows(provider, from, to, Duration.ofMinutes(30)).size());
+        index.onSlotStatusChanged(booked(nine));
+        assertEquals(5, index.freeWindows(provider, from, to, Duration.ofMinutes(30)).size());
+
+        // Shortened: the 9:00 slot survives the update and stays booked
+        availability.setEndTime(LocalTime.of(11, 0));
+        index.onAvailabilityChanged(AvailabilityChangedEvent.updated(availability));
+        List<SlotGenerator.Occurrence> free = index.freeWindows(provider, from, to, Duration.ofMinutes(30));
+        assertEquals(3, free.size());
+        assertEquals(at(TOMORROW, 9).plus(Duration.ofMinutes(30)), free.get(0).start());
+
+        // Moved: the 9:00 slot is gone with it
+        availability.setStartTime(LocalTime.of(13, 0));
+        availability.setEndTime(LocalTime.of(15, 0));
+        index.onAvailabilityChanged(AvailabilityChangedEvent.updated(availability));
+        assertEquals(Duration.ofHours(2), index.longestGap(provider, from, to).map(gap -> Duration.between(gap.start(), gap.end())).orElseThrow());
+        assertFalse(index.mayConflict(provider, occurrences(availability(TOMORROW, 9, 12))));
+        Mockito.verify(availabilityRepo, Mockito.times(1)).findByProvider(any());
+    }
+
+    @Test
+    void daysOutsideTheWindowAreReadFromTheDatabase() {
+        LocalDate later = TOMORROW.plusDays(100);
+        ProviderAvailability daily = availability(TOMORROW, 9, 10);
+        daily.setRecurring(true);
+        daily.setRecurrencePattern(ProviderAvailability.RecurrencePattern.DAILY);
+        daily.setRecurrenceEndDate(later);
+        Mockito.when(availabilityRepo.findByProvider(any())).thenReturn(List.of(daily));
+
+        assertFalse(index.mayConflict(provider, occurrences(availability(TOMORROW, 10, 11))));
+        // Beyond the bitmaps the answer is a conservative yes, left to the exact check
+        assertTrue(index.mayConflict(provider, occurrences(availability(later, 10, 11))));
+        assertEquals(2, index.freeWindows(provider, at(later, 0), at(later.plusDays(1), 0), Duration.ofMinutes(30)).size());
+        Mockito.verify(availabilityRepo, Mockito.times(2)).findByProvider(any());
+    }
+
+    private List<SlotGenerator.Occurrence> occurrences(ProviderAvailability availability) {
+        return slotGenerator.occurrences(availability);
+    }
+
+    private SlotStatusChangedEvent booked(AppointmentSlot slot) {
+        slot.setStatus(AppointmentSlot.SlotStatus.BOOKED);
+        return SlotStatusChangedEvent.of(slot);
+    }
+
+    private static Instant at(LocalDate date, int hour) {
+        return date.atTime(hour, 0).toInstant(ZoneOffset.UTC);
+    }
+
+    private ProviderAvailability availability(LocalDate date, int startHour, int endHour) {
+        return ProviderAvailability.builder()
+                .id(UUID.randomUUID())
+                .provider(provider)
+                .date(date)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .timezone("UTC")
+                .slotDuration(30)
+                .appointmentType(ProviderAvailability.AppointmentType.CONSULTATION)
+                .build();
+    }
+}
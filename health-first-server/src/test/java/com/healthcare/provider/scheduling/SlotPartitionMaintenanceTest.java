@@ -0,0 +1,158 @@
+package com.healthcare.provider.scheduling;
+
+import com.healthcare.provider.dto.ProviderAvailabilityRequest;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.repository.ProviderRepository;
+import com.healthcare.provider.service.ProviderAvailabilityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "notification.email.sender=memory"
+})
+@ActiveProfiles("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+class SlotPartitionMaintenanceTest {
+    private static final Pattern MONTH_PARTITION = Pattern.compile("appointment_slot_\\d{4}_\\d{2}");
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private SlotPartitionMaintenance maintenance;
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void pastMonthsAreArchivedAndWeekLookupsTouchOneMonth() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Provider provider = createProviderWithDailySlots(today.minusYears(2), today.plusMonths(18));
+        assertTrue(count("select count(*) from appointment_slot_default") > 0);
+
+        maintenance.maintain(today);
+
+        LocalDate cutoff = today.withDayOfMonth(1).minusMonths(12);
+        LocalDate horizon = today.withDayOfMonth(1).plusMonths(13);
+        assertEquals(0, count("select count(*) from appointment_slot_default where slot_start_time < '" + horizon + "T00:00:00Z'"));
+        assertEquals(0, count("select count(*) from appointment_slot where slot_start_time < '" + cutoff + "T00:00:00Z'"));
+        assertTrue(count("select count(*) from appointment_slot_archive") > 0);
+        assertEquals(0, count("select count(*) from appointment_slot_archive where slot_start_time >= '" + cutoff + "T00:00:00Z'"));
+
+        // A week inside next month is answered from that month's partition alone
+        LocalDate weekStart = today.withDayOfMonth(1).plusMonths(1).plusDays(7);
+        String plan = String.join("\n", jdbcTemplate.queryForList("explain select * from appointment_slot where provider_id = ? "
+                        + "and slot_start_time >= ? and slot_start_time < ?",
+                String.class, provider.getId(), weekStart.atStartOfDay().atOffset(ZoneOffset.UTC),
+                weekStart.plusDays(7).atStartOfDay().atOffset(ZoneOffset.UTC)));
+        Set<String> partitions = MONTH_PARTITION.matcher(plan).results().map(MatchResult::group).collect(Collectors.toSet());
+        assertEquals(Set.of(partitionOf(weekStart)), partitions);
+        assertFalse(plan.contains("appointment_slot_default"));
+    }
+
+    @Test
+    void maintenanceIsIdempotent() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        maintenance.maintain(today);
+        long partitions = count("select count(*) from pg_inherits where inhparent = 'appointment_slot'::regclass");
+        long archived = count("select count(*) from pg_inherits where inhparent = 'appointment_slot_archive'::regclass");
+
+        maintenance.maintain(today);
+
+        assertEquals(partitions, count("select count(*) from pg_inherits where inhparent = 'appointment_slot'::regclass"));
+        assertEquals(archived, count("select count(*) from pg_inherits where inhparent = 'appointment_slot_archive'::regclass"));
+    }
+
+    @Test
+    void runIsSkippedWhileAnotherInstanceHoldsTheLock() throws Exception {
+        LocalDate later = LocalDate.now(ZoneOffset.UTC).plusYears(3);
+        String exists = "select count(*) from pg_class where relname = '" + partitionOf(later) + "'";
+        try (Connection other = dataSource.getConnection(); Statement statement = other.createStatement()) {
+            statement.execute("select pg_advisory_lock(" + "appointment_slot_partition_maintenance".hashCode() + ")");
+            maintenance.maintain(later);
+            assertEquals(0, count(exists));
+            statement.execute("select pg_advisory_unlock_all()");
+        }
+
+        maintenance.maintain(later);
+        assertEquals(1, count(exists));
+    }
+
+    private Provider createProviderWithDailySlots(LocalDate from, LocalDate until) {
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        Provider provider = providerRepository.save(Provider.builder()
+                .firstName("Long")
+                .lastName("History")
+                .email("history-" + suffix + "@clinic.com")
+                .phoneNumber("+1" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .specialization("Cardiology")
+                .licenseNumber("LIC" + suffix)
+                .yearsOfExperience(5)
+                .clinicAddress(Provider.ClinicAddress.builder()
+                        .street("1 Main St").city("Austin").state("TX").zip("73301").build())
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build());
+        availabilityService.createAvailability(provider.getId(), ProviderAvailabilityRequest.builder()
+                .date(from)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(10, 0))
+                .timezone("America/New_York")
+                .isRecurring(true)
+                .recurrencePattern("daily")
+                .recurrenceEndDate(until)
+                .slotDuration(15)
+                .appointmentType("consultation")
+                .location(ProviderAvailabilityRequest.Location.builder().type("clinic").build())
+                .pricing(ProviderAvailabilityRequest.Pricing.builder().baseFee(new BigDecimal("100")).currency("USD").build())
+                .build());
+        return provider;
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static String partitionOf(LocalDate date) {
+        return String.format("appointment_slot_%d_%02d", date.getYear(), date.getMonthValue());
+    }
+}
@@ -0,0 +1,190 @@
+package com.healthcare.provider.search;
+
+import com.healthcare.provider.dto.AvailabilitySearchRequest;
+import com.healthcare.provider.dto.AvailabilitySearchResponse;
+import com.healthcare.provider.dto.ProviderAvailabilityRequest;
+import com.healthcare.provider.dto.ProviderAvailabilityResponse;
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.entity.ProviderAvailability;
+import com.healthcare.provider.repository.ProviderRepository;
+import com.healthcare.provider.scheduling.ProviderUpdatedEvent;
+import com.healthcare.provider.service.AppointmentSlotService;
+import com.healthcare.provider.service.AvailabilitySearchService;
+import com.healthcare.provider.service.ProviderAvailabilityService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Search answers, in and beyond the indexed window, against the same question put to the slot table.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class AvailabilitySearchIndexTest {
+    private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+
+    @Autowired
+    private AvailabilitySearchService searchService;
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private AppointmentSlotService slotService;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String specialization;
+    private Provider first;
+    private Provider second;
+
+    @BeforeEach
+    void setUp() {
+        specialization = "Nephrology" + UUID.randomUUID().toString().substring(0, 8);
+        first = provider("First");
+        second = provider("Second");
+        ProviderAvailabilityResponse clinic = availability(first, TODAY.plusDays(5), null, "clinic", true, "100");
+        availability(first, TODAY.plusDays(3), TODAY.plusDays(40), "telemedicine", false, "200");
+        availability(second, TODAY.plusDays(5), null, "clinic", true, "150");
+        ProviderAvailabilityResponse later = availability(second, TODAY.plusDays(200), null, "clinic", true, "150");
+        block(clinic.getSlots().get(1).getSlotId());
+        block(later.getSlots().get(0).getSlotId());
+    }
+
+    @Test
+    void resultsMatchTheSlotTableInsideTheWindow() {
+        assertMatchesDatabase(request(TODAY, TODAY.plusDays(45)).build());
+        assertMatchesDatabase(request(TODAY, TODAY.plusDays(45)).location("clinic").maxPrice(new BigDecimal("120")).build());
+        assertMatchesDatabase(request(TODAY, TODAY.plusDays(45)).insuranceAccepted(false).build());
+        assertMatchesDatabase(request(TODAY.plusDays(5), TODAY.plusDays(5)).build());
+    }
+
+    @Test
+    void resultsBeyondTheWindowComeFromTheDatabase() {
+        assertMatchesDatabase(request(TODAY.plusDays(190), TODAY.plusDays(210)).build());
+        assertMatchesDatabase(request(TODAY.plusDays(30), TODAY.plusDays(210)).location("clinic").build());
+    }
+
+    @Test
+    void providerUpdatesAreReindexed() {
+        String renamed = specialization + "Peds";
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Provider provider = providerRepository.findById(second.getId()).orElseThrow();
+            provider.setSpecialization(renamed);
+            provider.setLastName("Renamed");
+            eventPublisher.publishEvent(new ProviderUpdatedEvent(providerRepository.save(provider)));
+        });
+
+        AvailabilitySearchResponse response = assertMatchesDatabase(request(TODAY, TODAY.plusDays(45)).specialization(renamed).build());
+        assertEquals(1, response.getTotalResults());
+        assertEquals("Second Renamed", response.getResults().get(0).getProvider().getName());
+        assertEquals(renamed, response.getResults().get(0).getProvider().getSpecialization());
+        assertEquals(Set.of(first.getId()), assertMatchesDatabase(request(TODAY, TODAY.plusDays(45)).build()).getResults().stream()
+                .map(result -> result.getProvider().getId()).collect(Collectors.toSet()));
+    }
+
+    private AvailabilitySearchResponse assertMatchesDatabase(AvailabilitySearchRequest request) {
+        AvailabilitySearchResponse response = searchService.search(request);
+        Set<UUID> found = response.getResults().stream()
+                .flatMap(result -> result.getAvailableSlots().stream())
+                .map(AvailabilitySearchResponse.Slot::getSlotId)
+                .collect(Collectors.toSet());
+        Set<UUID> expected = openSlotIds(request);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, found);
+        return response;
+    }
+
+    private Set<UUID> openSlotIds(AvailabilitySearchRequest request) {
+        // Every availability here is in UTC, so their local dates are UTC dates
+        return new TransactionTemplate(transactionManager).execute(status -> Set.copyOf(entityManager.createQuery(
+                        "select s.id from AppointmentSlot s join s.availability a join a.provider p "
+                                + "where lower(p.specialization) = lower(:specialization) and s.status = :open "
+                                + "and s.slotStartTime >= :from and s.slotStartTime < :to "
+                                + "and (:locationType is null or a.location.type = :locationType) "
+                                + "and (:insuranceAccepted is null or a.pricing.insuranceAccepted = :insuranceAccepted) "
+                                + "and (:maxPrice is null or a.pricing.baseFee <= :maxPrice)", UUID.class)
+                .setParameter("specialization", request.getSpecialization())
+                .setParameter("open", AppointmentSlot.SlotStatus.AVAILABLE)
+                .setParameter("from", request.getStartDate().atStartOfDay(ZoneOffset.UTC))
+                .setParameter("to", request.getEndDate().plusDays(1).atStartOfDay(ZoneOffset.UTC))
+                .setParameter("locationType", request.getLocation() != null
+                        ? ProviderAvailability.Location.LocationType.valueOf(request.getLocation().toUpperCase()) : null)
+                .setParameter("insuranceAccepted", request.getInsuranceAccepted())
+                .setParameter("maxPrice", request.getMaxPrice())
+                .getResultList()));
+    }
+
+    private AvailabilitySearchRequest.AvailabilitySearchRequestBuilder request(LocalDate from, LocalDate to) {
+        return AvailabilitySearchRequest.builder()
+                .startDate(from)
+                .endDate(to)
+                .specialization(specialization)
+                .availableOnly(true);
+    }
+
+    private Provider provider(String firstName) {
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        return providerRepository.save(Provider.builder()
+                .firstName(firstName)
+                .lastName("Searchable")
+                .email("search-" + suffix + "@clinic.com")
+                .phoneNumber("+1" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .specialization(specialization)
+                .licenseNumber("LIC" + suffix)
+                .yearsOfExperience(5)
+                .clinicAddress(Provider.ClinicAddress.builder()
+                        .street("1 Main St").city("Austin").state("TX").zip("73301").build())
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build());
+    }
+
+    private ProviderAvailabilityResponse availability(Provider provider, LocalDate date, LocalDate weeklyUntil,
+                                                      String locationType, boolean insuranceAccepted, String fee) {
+        return availabilityService.createAvailability(provider.getId(), ProviderAvailabilityRequest.builder()
+                .date(date)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(11, 0))
+                .timezone("UTC")
+                .isRecurring(weeklyUntil != null)
+                .recurrencePattern(weeklyUntil != null ? "weekly" : null)
+                .recurrenceEndDate(weeklyUntil)
+                .slotDuration(30)
+                .appointmentType("consultation")
+                .location(ProviderAvailabilityRequest.Location.builder().type(locationType).build())
+                .pricing(ProviderAvailabilityRequest.Pricing.builder()
+                        .baseFee(new BigDecimal(fee)).insuranceAccepted(insuranceAccepted).currency("USD").build())
+                .build());
+    }
+
+    private void block(UUID slotId) {
+        slotService.updateSlot(slotId, AppointmentSlot.builder().status(AppointmentSlot.SlotStatus.BLOCKED).build());
+    }
+}
@@ -0,0 +1,34 @@
+package com.healthcare.provider.security;
+
+import com.healthcare.provider.config.SecurityConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBCryptPasswordEncoderTest {
+
+    @Test
+    void upgradeEncodingFlagsOnlyLowerCosts() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        assertEquals(4, AdaptiveBCryptPasswordEncoder.calibrated(Duration.ZERO, 4, 6).getStrength());
+        assertEquals(6, AdaptiveBCryptPasswordEncoder.calibrated(Duration.ofHours(1), 4, 6).getStrength());
+    }
+
+    @Test
+    void strengthZeroCalibratesOnStart() {
+        SecurityConfig config = new SecurityConfig(null);
+        assertEquals(6, config.bCryptPasswordEncoder(0, Duration.ofHours(1), 4, 6).getStrength());
+        assertEquals(5, config.bCryptPasswordEncoder(5, Duration.ofHours(1), 4, 6).getStrength());
+    }
+}
@@ -0,0 +1,108 @@
+package com.healthcare.provider.security;
+
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.repository.PatientRepository;
+import com.healthcare.provider.repository.ProviderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationFilterTest {
+    private final ProviderRepository providerRepository = Mockito.mock(ProviderRepository.class);
+    private final PatientRepository patientRepository = Mockito.mock(PatientRepository.class);
+    private final Provider provider = Provider.builder()
+            .id(UUID.randomUUID())
+            .email("jane.doe@clinic.com")
+            .specialization("Cardiology")
+            .verificationStatus(Provider.VerificationStatus.VERIFIED)
+            .isActive(true)
+            .build();
+    private JwtTokenProvider tokenProvider;
+    private AccountStatusCache accountStatusCache;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "testSecretKey123456789012345678901234567");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiryMs", 3_600_000L);
+        ReflectionTestUtils.setField(tokenProvider, "claimsCacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+        accountStatusCache = new AccountStatusCache(providerRepository, patientRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(accountStatusCache, "enabled", true);
+        ReflectionTestUtils.setField(accountStatusCache, "ttl", Duration.ofSeconds(30));
+        ReflectionTestUtils.invokeMethod(accountStatusCache, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void claimsModeAuthenticatesFromTheTokenAndChecksTheAccountOncePerTtl() throws Exception {
+        Mockito.when(providerRepository.findById(provider.getId())).thenReturn(Optional.of(provider));
+        JwtAuthenticationFilter filter = filter(AuthenticationMode.CLAIMS);
+
+        Authentication first = authenticate(filter);
+        Authentication second = authenticate(filter);
+
+        ClaimsPrincipal principal = assertInstanceOf(ClaimsPrincipal.class, first.getPrincipal());
+        assertEquals(provider.getId(), principal.id());
+        assertEquals("ROLE_PROVIDER", first.getAuthorities().iterator().next().getAuthority());
+        assertEquals(principal, second.getPrincipal());
+        Mockito.verify(providerRepository, Mockito.times(1)).findById(provider.getId());
+    }
+
+    @Test
+    void claimsModeRejectsADeactivatedAccount() throws Exception {
+        provider.setActive(false);
+        Mockito.when(providerRepository.findById(provider.getId())).thenReturn(Optional.of(provider));
+
+        assertNull(authenticate(filter(AuthenticationMode.CLAIMS)));
+    }
+
+    @Test
+    void lookupModeLoadsTheAccountOnEveryRequest() throws Exception {
+        Mockito.when(providerRepository.findById(provider.getId())).thenReturn(Optional.of(provider));
+        JwtAuthenticationFilter filter = filter(AuthenticationMode.LOOKUP);
+
+        assertSame(provider, authenticate(filter).getPrincipal());
+        assertSame(provider, authenticate(filter).getPrincipal());
+        Mockito.verify(providerRepository, Mockito.times(2)).findById(provider.getId());
+    }
+
+    @Test
+    void lookupModeRejectsAMissingAccount() throws Exception {
+        Mockito.when(providerRepository.findById(provider.getId())).thenReturn(Optional.empty());
+
+        assertNull(authenticate(filter(AuthenticationMode.LOOKUP)));
+    }
+
+    private JwtAuthenticationFilter filter(AuthenticationMode mode) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider, providerRepository, patientRepository, accountStatusCache);
+        ReflectionTestUtils.setField(filter, "authenticationMode", mode);
+        return filter;
+    }
+
+    private Authentication authenticate(JwtAuthenticationFilter filter) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + tokenProvider.generateToken(provider));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
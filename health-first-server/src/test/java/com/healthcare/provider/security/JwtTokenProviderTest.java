@@ -0,0 +1,88 @@
+package com.healthcare.provider.security;
+
+import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.entity.Provider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(meterRegistry);
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "testSecretKey123456789012345678901234567");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiryMs", 3_600_000L);
+        ReflectionTestUtils.setField(tokenProvider, "claimsCacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+    }
+
+    @Test
+    void aRepeatedTokenIsAnsweredFromTheCache() {
+        Provider provider = provider();
+        String token = tokenProvider.generateToken(provider);
+
+        VerifiedToken first = tokenProvider.verify(token).orElseThrow();
+        VerifiedToken second = tokenProvider.verify(token).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(new ClaimsPrincipal(provider.getId(), "PROVIDER", provider.getEmail(), "VERIFIED"), first.principal());
+        assertEquals(1.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+    }
+
+    @Test
+    void aCachedTokenStopsVerifyingAtItsExpiry() throws InterruptedException {
+        String token = tokenProvider.generateTokenForPatient(patient(), 1);
+        VerifiedToken verified = tokenProvider.verify(token).orElseThrow();
+        assertTrue(tokenProvider.verify(token).isPresent());
+
+        long untilExpiry = verified.expiresAt().toEpochMilli() - System.currentTimeMillis();
+        Thread.sleep(Math.max(0, untilExpiry) + 100);
+
+        assertTrue(tokenProvider.verify(token).isEmpty());
+    }
+
+    @Test
+    void aTamperedTokenMissesTheCacheAndIsRejected() {
+        String token = tokenProvider.generateToken(provider());
+        assertTrue(tokenProvider.verify(token).isPresent());
+
+        // Same signature, payload claiming another role
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1])).replace("PROVIDER", "ADMIN");
+        String forged = parts[0] + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes())
+                + "." + parts[2];
+
+        assertTrue(tokenProvider.verify(forged).isEmpty());
+        assertTrue(tokenProvider.verify(forged).isEmpty());
+        assertEquals(3.0, gets("miss"));
+        assertEquals(0.0, gets("hit"));
+        assertTrue(tokenProvider.verify(token).isPresent());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", result).functionCounter().count();
+    }
+
+    private static Provider provider() {
+        return Provider.builder()
+                .id(UUID.randomUUID())
+                .email("jane.doe@clinic.com")
+                .specialization("Cardiology")
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .build();
+    }
+
+    private static Patient patient() {
+        return Patient.builder().id(UUID.randomUUID()).email("john.doe@example.com").build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.healthcare.provider.security;
+
+import com.healthcare.provider.exception.LoginThrottledException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginThrottle();
+        ReflectionTestUtils.setField(throttle, "enabled", true);
+        ReflectionTestUtils.setField(throttle, "emailCapacity", 3);
+        ReflectionTestUtils.setField(throttle, "emailRefillPeriod", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(throttle, "ipCapacity", 5);
+        ReflectionTestUtils.setField(throttle, "ipRefillPeriod", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(throttle, "maxKeys", 1_000);
+        ReflectionTestUtils.invokeMethod(throttle, "init");
+    }
+
+    @Test
+    void throttlesEmailAfterCapacityIgnoringCase() {
+        for (int i = 0; i < 3; i++) {
+            throttle.check("john@clinic.com", "10.0.0." + i);
+        }
+        LoginThrottledException ex = assertThrows(LoginThrottledException.class,
+                () -> throttle.check("John@Clinic.com", "10.0.0.9"));
+        assertTrue(ex.getRetryAfterSeconds() >= 1 && ex.getRetryAfterSeconds() <= 20);
+    }
+
+    @Test
+    void throttlesAddressAcrossEmails() {
+        for (int i = 0; i < 5; i++) {
+            throttle.check("user" + i + "@clinic.com", "10.0.0.1");
+        }
+        assertThrows(LoginThrottledException.class, () -> throttle.check("other@clinic.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.check("other@clinic.com", "10.0.0.2"));
+    }
+}
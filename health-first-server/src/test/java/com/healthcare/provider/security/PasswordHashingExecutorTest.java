@@ -0,0 +1,91 @@
+package com.healthcare.provider.security;
+
+import com.healthcare.provider.exception.GlobalExceptionHandler;
+import com.healthcare.provider.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new PasswordHashingExecutor(meterRegistry);
+        ReflectionTestUtils.setField(executor, "threads", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(executor, "waitTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.invokeMethod(executor, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        ReflectionTestUtils.invokeMethod(executor, "shutdown");
+    }
+
+    @Test
+    void aFullQueueIsRejectedWith503() throws Exception {
+        Future<Boolean> running = callers.submit(() -> executor.execute("matches", this::blockUntilReleased));
+        awaitQueued(0);
+        Future<Boolean> queued = callers.submit(() -> executor.execute("matches", this::blockUntilReleased));
+        awaitQueued(1);
+
+        PasswordHashingRejectedException ex = assertThrows(PasswordHashingRejectedException.class,
+                () -> executor.execute("matches", () -> true));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, new GlobalExceptionHandler().handlePasswordHashingRejected(ex).getStatusCode());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(10, TimeUnit.SECONDS));
+        assertTrue(queued.get(10, TimeUnit.SECONDS));
+        assertEquals(2, meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void aCallNotFinishedWithinTheTimeoutIsRejectedAndDropped() throws Exception {
+        ReflectionTestUtils.setField(executor, "waitTimeout", Duration.ofMillis(200));
+        Future<Boolean> running = callers.submit(() -> executor.execute("matches", this::blockUntilReleased));
+        awaitQueued(0);
+
+        assertThrows(PasswordHashingRejectedException.class, () -> executor.execute("encode", () -> "never"));
+        assertEquals(0.0, meterRegistry.get("password.hashing.queue.size").gauge().value());
+        // The caller of the running hash gave up as well
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> running.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(PasswordHashingRejectedException.class, ex.getCause());
+        assertEquals(2.0, meterRegistry.get("password.hashing.timed-out").counter().count());
+    }
+
+    /** Like BCrypt, ignores interrupts. */
+    private boolean blockUntilReleased() {
+        while (true) {
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                // keep hashing
+            }
+        }
+    }
+
+    /** Waits until the single pool thread is busy and the given number of tasks wait behind it. */
+    private void awaitQueued(int queued) throws InterruptedException {
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) ReflectionTestUtils.getField(executor, "executor");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.getActiveCount() < 1 || pool.getQueue().size() < queued) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
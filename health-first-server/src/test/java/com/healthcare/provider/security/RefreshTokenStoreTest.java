@@ -0,0 +1,92 @@
+package com.healthcare.provider.security;
+
+import com.healthcare.provider.entity.RefreshToken;
+import com.healthcare.provider.repository.RefreshTokenRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "metrics.hibernate-statistics.enabled=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class RefreshTokenStoreTest {
+    @Autowired
+    private RefreshTokenStore store;
+    @Autowired
+    private RefreshTokenRepository repository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void issuingIsASingleInsert() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        store.issue(UUID.randomUUID(), RefreshToken.SubjectType.PROVIDER);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void aTokenCanBeRedeemedOnce() {
+        UUID subjectId = UUID.randomUUID();
+        String token = store.issue(subjectId, RefreshToken.SubjectType.PATIENT);
+
+        Optional<RefreshTokenStore.Entry> entry = store.consume(token);
+        assertTrue(entry.isPresent());
+        assertEquals(subjectId, entry.get().subjectId());
+        assertEquals(RefreshToken.SubjectType.PATIENT, entry.get().subjectType());
+        assertTrue(store.consume(token).isEmpty());
+    }
+
+    @Test
+    void aReplayOnAnotherInstanceIsRejected() {
+        String token = store.issue(UUID.randomUUID(), RefreshToken.SubjectType.PROVIDER);
+        // Started before the token was issued, so it has to look it up
+        RefreshTokenStore otherInstance = otherInstance(Duration.ofDays(14));
+        assertTrue(store.consume(token).isPresent());
+
+        assertTrue(otherInstance.consume(token).isEmpty());
+    }
+
+    @Test
+    void aWrongSecretRevokesTheToken() {
+        String token = store.issue(UUID.randomUUID(), RefreshToken.SubjectType.PATIENT);
+        String id = token.substring(0, token.indexOf('.'));
+
+        assertTrue(store.consume(id + ".guessed").isEmpty());
+
+        assertTrue(store.consume(token).isEmpty());
+        assertTrue(repository.findById(UUID.fromString(id)).orElseThrow().isRevoked());
+    }
+
+    @Test
+    void anExpiredTokenIsRejected() {
+        // Issued elsewhere with no lifetime left, so this instance reads it from the table
+        String token = otherInstance(Duration.ZERO).issue(UUID.randomUUID(), RefreshToken.SubjectType.PATIENT);
+
+        assertTrue(store.consume(token).isEmpty());
+        assertTrue(repository.findById(UUID.fromString(token.substring(0, token.indexOf('.')))).orElseThrow().isRevoked());
+    }
+
+    private RefreshTokenStore otherInstance(Duration ttl) {
+        RefreshTokenStore instance = new RefreshTokenStore(repository);
+        ReflectionTestUtils.setField(instance, "ttl", ttl);
+        return instance;
+    }
+}
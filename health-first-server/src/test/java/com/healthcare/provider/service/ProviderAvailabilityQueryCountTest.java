@@ -0,0 +1,120 @@
+package com.healthcare.provider.service;
+
+import com.healthcare.provider.dto.ProviderAvailabilityRequest;
+import com.healthcare.provider.dto.ProviderAvailabilityResponse;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.repository.ProviderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "metrics.hibernate-statistics.enabled=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN"
+})
+class ProviderAvailabilityQueryCountTest {
+    private static final LocalDate START = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID providerId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        Provider provider = providerRepository.save(Provider.builder()
+                .firstName("Query")
+                .lastName("Count")
+                .email("count-" + suffix + "@clinic.com")
+                .phoneNumber("+1" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .specialization("Cardiology")
+                .licenseNumber("LIC" + suffix)
+                .yearsOfExperience(5)
+                .clinicAddress(Provider.ClinicAddress.builder()
+                        .street("1 Main St").city("Austin").state("TX").zip("73301").build())
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build());
+        providerId = provider.getId();
+        createDays(0, 30);
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithRange() {
+        long weekStatements = statementsFor(START, START.plusDays(6), 7);
+        long monthStatements = statementsFor(START, START.plusDays(29), 30);
+        assertEquals(weekStatements, monthStatements);
+    }
+
+    @Test
+    void streamingSeveralChunksLoadsRequirementsInBatches() {
+        // 250 availabilities and 1,500 slots: past the fetch sizes and across several persistence context clears
+        createDays(30, 250);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictCollectionData();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        List<ProviderAvailabilityResponse> streamed = new ArrayList<>();
+        availabilityService.streamAvailabilities(providerId, START, START.plusDays(249), null, streamed::add);
+
+        // Both cursors and one requirements batch per chunk of 100; the provider comes from the second-level cache
+        assertEquals(5, statistics.getPrepareStatementCount());
+        assertEquals(250, streamed.size());
+        for (int day = 0; day < 250; day++) {
+            ProviderAvailabilityResponse response = streamed.get(day);
+            assertEquals(START.plusDays(day), response.getDate());
+            assertEquals(6, response.getSlots().size());
+            assertEquals(List.of("fasting_required", "bring_id"), response.getSpecialRequirements());
+        }
+    }
+
+    private void createDays(int from, int to) {
+        for (int day = from; day < to; day++) {
+            availabilityService.createAvailability(providerId, ProviderAvailabilityRequest.builder()
+                    .date(START.plusDays(day))
+                    .startTime(LocalTime.of(9, 0))
+                    .endTime(LocalTime.of(12, 0))
+                    .timezone("America/New_York")
+                    .slotDuration(30)
+                    .appointmentType("consultation")
+                    .location(ProviderAvailabilityRequest.Location.builder().type("clinic").build())
+                    .pricing(ProviderAvailabilityRequest.Pricing.builder().baseFee(new BigDecimal("100")).currency("USD").build())
+                    .specialRequirements(List.of("fasting_required", "bring_id"))
+                    .build());
+        }
+    }
+
+    private long statementsFor(LocalDate from, LocalDate to, int expectedAvailabilities) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<ProviderAvailabilityResponse> responses = availabilityService.getAvailabilities(providerId, from, to, null, null, null);
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(expectedAvailabilities, responses.size());
+        responses.forEach(response -> {
+            assertEquals(6, response.getSlots().size());
+            assertEquals(2, response.getSpecialRequirements().size());
+        });
+        return statements;
+    }
+}
@@ -0,0 +1,226 @@
+package com.healthcare.provider.service;
+
+import com.healthcare.provider.dto.AvailabilityDeleteResponse;
+import com.healthcare.provider.dto.ProviderAvailabilityRequest;
+import com.healthcare.provider.dto.ProviderAvailabilityResponse;
+import com.healthcare.provider.dto.SlotBookingRequest;
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.AvailabilityDeletion;
+import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.exception.BookedSlotsException;
+import com.healthcare.provider.repository.AppointmentSlotRepository;
+import com.healthcare.provider.repository.AvailabilityDeletionRepository;
+import com.healthcare.provider.repository.PatientRepository;
+import com.healthcare.provider.repository.ProviderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class ProviderAvailabilityServiceImplTest {
+    private static final LocalDate DAY = LocalDate.of(2030, 3, 4);
+
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private AppointmentSlotService slotService;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+    @Autowired
+    private AvailabilityDeletionRepository deletionRepository;
+
+    private String suffix;
+    private UUID providerId;
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        providerId = providerRepository.save(Provider.builder()
+                .firstName("Service")
+                .lastName("Test")
+                .email("service-" + suffix + "@clinic.com")
+                .phoneNumber("+1" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .specialization("Cardiology")
+                .licenseNumber("LIC" + suffix)
+                .yearsOfExperience(5)
+                .clinicAddress(Provider.ClinicAddress.builder()
+                        .street("1 Main St").city("Austin").state("TX").zip("73301").build())
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build()).getId();
+    }
+
+    @Test
+    void updateWithUnchangedWindowKeepsTheSlotsAndRetypesThem() {
+        ProviderAvailabilityResponse created = availabilityService.createAvailability(providerId, request(9, 12, "consultation"));
+
+        ProviderAvailabilityResponse updated = availabilityService.updateAvailability(providerId, created.getAvailabilityId(),
+                request(9, 12, "follow_up"));
+
+        assertEquals(slotIds(created), slotIds(updated));
+        assertTrue(updated.getSlots().stream().allMatch(slot -> "FOLLOW_UP".equals(slot.getAppointmentType())));
+        assertTrue(slotRepository.findAllById(slotIds(created)).stream().allMatch(slot -> "FOLLOW_UP".equals(slot.getAppointmentType())));
+    }
+
+    @Test
+    void shiftedUpdateKeepsOverlappingSlotsAndReplacesTheRest() {
+        ProviderAvailabilityResponse created = availabilityService.createAvailability(providerId, request(9, 12, "consultation"));
+
+        ProviderAvailabilityResponse updated = availabilityService.updateAvailability(providerId, created.getAvailabilityId(),
+                request(10, 13, "consultation"));
+
+        Set<UUID> before = slotIds(created);
+        Set<UUID> after = slotIds(updated);
+        assertEquals(6, after.size());
+        assertEquals(4, after.stream().filter(before::contains).count());
+        // The 9:00 and 9:30 slots are deleted, the 12:00 and 12:30 ones stored
+        assertTrue(slotRepository.findAllById(before).stream().allMatch(slot -> after.contains(slot.getId())));
+        assertEquals(after, slotRepository.findAllById(after).stream().map(AppointmentSlot::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void updateThatWouldDropABookedSlotIsRejected() {
+        ProviderAvailabilityResponse created = availabilityService.createAvailability(providerId, request(9, 12, "consultation"));
+        UUID nineOClock = created.getSlots().get(0).getSlotId();
+        slotService.bookSlot(nineOClock, patient().getId(), new SlotBookingRequest());
+
+        assertThrows(BookedSlotsException.class, () -> availabilityService.updateAvailability(providerId,
+                created.getAvailabilityId(), request(10, 12, "consultation")));
+
+        ProviderAvailabilityResponse unchanged = availabilityService.getAvailability(providerId, created.getAvailabilityId());
+        assertEquals(LocalTime.of(9, 0), unchanged.getStartTime());
+        assertEquals(slotIds(created), slotIds(unchanged));
+        assertEquals(AppointmentSlot.SlotStatus.BOOKED, slotService.getSlot(nineOClock).getStatus());
+    }
+
+    @Test
+    void updateIsCheckedForConflictsWithOtherAvailabilitiesOnly() {
+        ProviderAvailabilityResponse morning = availabilityService.createAvailability(providerId, request(9, 12, "consultation"));
+        availabilityService.createAvailability(providerId, request(14, 17, "consultation"));
+
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.updateAvailability(providerId,
+                morning.getAvailabilityId(), request(11, 15, "consultation")));
+        // Overlapping only its own previous window is fine
+        ProviderAvailabilityResponse widened = availabilityService.updateAvailability(providerId, morning.getAvailabilityId(),
+                request(8, 13, "consultation"));
+        assertEquals(LocalTime.of(8, 0), widened.getStartTime());
+        // And the check sees the update: the old morning window is free again
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.createAvailability(providerId, request(12, 14, "consultation")));
+        availabilityService.createAvailability(providerId, request(13, 14, "consultation"));
+    }
+
+    @Test
+    void deletingASingleAvailabilityRecordsTheReason() {
+        ProviderAvailabilityResponse morning = availabilityService.createAvailability(providerId, request(9, 12, "consultation"));
+        ProviderAvailabilityResponse afternoon = availabilityService.createAvailability(providerId, request(14, 17, "consultation"));
+
+        AvailabilityDeleteResponse response = availabilityService.deleteAvailability(providerId, morning.getAvailabilityId(), false, "clinic closed");
+
+        assertEquals(1, response.getDeletedAvailabilities());
+        assertEquals(6, response.getDeletedSlots());
+        assertTrue(slotRepository.findAllById(slotIds(morning)).isEmpty());
+        assertEquals(6, slotRepository.findAllById(slotIds(afternoon)).size());
+        List<AvailabilityDeletion> deletions = deletionRepository.findByAvailabilityId(morning.getAvailabilityId());
+        assertEquals(1, deletions.size());
+        assertEquals("clinic closed", deletions.get(0).getReason());
+        assertEquals(providerId, deletions.get(0).getProviderId());
+        assertEquals(6, deletions.get(0).getDeletedSlots());
+    }
+
+    @Test
+    void deletingASeriesLeavesOtherAvailabilitiesInItsDateRange() {
+        ProviderAvailabilityRequest daily = request(9, 10, "consultation");
+        daily.setRecurring(true);
+        daily.setRecurrencePattern("daily");
+        daily.setRecurrenceEndDate(DAY.plusDays(6));
+        ProviderAvailabilityResponse series = availabilityService.createAvailability(providerId, daily);
+        ProviderAvailabilityRequest midweek = request(14, 17, "consultation");
+        midweek.setDate(DAY.plusDays(3));
+        ProviderAvailabilityResponse other = availabilityService.createAvailability(providerId, midweek);
+
+        // Without deleteRecurring, as before, the whole series goes
+        AvailabilityDeleteResponse response = availabilityService.deleteAvailability(providerId, series.getAvailabilityId(), false, "on leave");
+
+        assertEquals(1, response.getDeletedAvailabilities());
+        assertEquals(14, response.getDeletedSlots());
+        assertEquals(other.getAvailabilityId(), availabilityService.getAvailability(providerId, other.getAvailabilityId()).getAvailabilityId());
+        assertEquals(6, slotRepository.findAllById(slotIds(other)).size());
+        assertTrue(deletionRepository.findByAvailabilityId(series.getAvailabilityId()).get(0).isRecurring());
+    }
+
+    @Test
+    void availabilityWithBookedSlotsIsNotDeleted() {
+        ProviderAvailabilityResponse created = availabilityService.createAvailability(providerId, request(9, 12, "consultation"));
+        UUID nineOClock = created.getSlots().get(0).getSlotId();
+        slotService.bookSlot(nineOClock, patient().getId(), new SlotBookingRequest());
+
+        assertThrows(BookedSlotsException.class, () -> availabilityService.deleteAvailability(providerId,
+                created.getAvailabilityId(), false, "double booked"));
+
+        assertEquals(6, slotRepository.findAllById(slotIds(created)).size());
+        assertEquals(AppointmentSlot.SlotStatus.BOOKED, slotService.getSlot(nineOClock).getStatus());
+        assertTrue(deletionRepository.findByAvailabilityId(created.getAvailabilityId()).isEmpty());
+    }
+
+    @Test
+    void freeWindowArgumentsAreRejectedBeforeTheProviderIsLoaded() {
+        // An unknown provider would fail with NoSuchElementException if it were read first
+        UUID unknown = UUID.randomUUID();
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.getFreeWindows(unknown, DAY, 0, null));
+        assertThrows(DateTimeException.class, () -> availabilityService.getFreeWindows(unknown, DAY, 30, "Mars/Olympus"));
+    }
+
+    private Patient patient() {
+        return patientRepository.save(Patient.builder()
+                .firstName("Booked")
+                .lastName("Patient")
+                .email("booked-" + suffix + "@mail.com")
+                .phoneNumber("+2" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .gender(Patient.Gender.OTHER)
+                .address(Patient.Address.builder().street("2 Side St").city("Austin").state("TX").zip("73301").build())
+                .isActive(true)
+                .build());
+    }
+
+    private static Set<UUID> slotIds(ProviderAvailabilityResponse response) {
+        return response.getSlots().stream().map(ProviderAvailabilityResponse.Slot::getSlotId).collect(Collectors.toSet());
+    }
+
+    private static ProviderAvailabilityRequest request(int startHour, int endHour, String appointmentType) {
+        return ProviderAvailabilityRequest.builder()
+                .date(DAY)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .timezone("UTC")
+                .slotDuration(30)
+                .appointmentType(appointmentType)
+                .location(ProviderAvailabilityRequest.Location.builder().type("clinic").build())
+                .pricing(ProviderAvailabilityRequest.Pricing.builder().baseFee(new BigDecimal("100")).currency("USD").build())
+                .build();
+    }
+}
@@ -1,8 +1,14 @@
 package com.healthcare.provider.service;
 
 import com.healthcare.provider.dto.ProviderCreateRequest;
+import com.healthcare.provider.dto.ProviderLoginRequest;
 import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.notification.VerificationEmailOutbox;
+import com.healthcare.provider.registration.RegistrationKeyFilter;
 import com.healthcare.provider.repository.ProviderRepository;
+import com.healthcare.provider.scheduling.ProviderUpdatedEvent;
+import com.healthcare.provider.security.JwtTokenProvider;
+import com.healthcare.provider.security.RefreshTokenStore;
 import com.healthcare.provider.service.dto.ProviderRegistrationResponse;
 import com.healthcare.provider.service.impl.ProviderServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,10 +16,17 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -24,12 +37,29 @@ class ProviderServiceTest {
     private ProviderRepository providerRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private RegistrationKeyFilter registrationKeyFilter;
+    @Mock
+    private VerificationEmailOutbox verificationEmailOutbox;
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TransactionTemplate transactionTemplate;
     @InjectMocks
     private ProviderServiceImpl providerService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(registrationKeyFilter.mightContainProvider(any(), any(), any())).thenReturn(true);
+    }
+
+    private Provider existing(String email, String phoneNumber, String licenseNumber) {
+        return Provider.builder().email(email).phoneNumber(phoneNumber).licenseNumber(licenseNumber).build();
     }
 
     private ProviderCreateRequest getValidRequest() {
@@ -55,9 +85,7 @@ class ProviderServiceTest {
     @Test
     void registerProvider_success() {
         ProviderCreateRequest request = getValidRequest();
-        when(providerRepository.existsByEmail(anyString())).thenReturn(false);
-        when(providerRepository.existsByPhoneNumber(anyString())).thenReturn(false);
-        when(providerRepository.existsByLicenseNumber(anyString())).thenReturn(false);
+        when(providerRepository.findByEmailOrPhoneNumberOrLicenseNumber(anyString(), anyString(), anyString())).thenReturn(List.of());
         when(passwordEncoder.encode(anyString())).thenReturn("hashed");
         Provider saved = Provider.builder()
                 .id(UUID.randomUUID())
@@ -74,24 +102,24 @@ class ProviderServiceTest {
     @Test
     void registerProvider_duplicateEmail() {
         ProviderCreateRequest request = getValidRequest();
-        when(providerRepository.existsByEmail(anyString())).thenReturn(true);
+        when(providerRepository.findByEmailOrPhoneNumberOrLicenseNumber(anyString(), anyString(), anyString()))
+                .thenReturn(List.of(existing(request.getEmail(), "+1999999999", "MD999")));
         assertThrows(DataIntegrityViolationException.class, () -> providerService.registerProvider(request));
     }
 
     @Test
     void registerProvider_duplicatePhone() {
         ProviderCreateRequest request = getValidRequest();
-        when(providerRepository.existsByEmail(anyString())).thenReturn(false);
-        when(providerRepository.existsByPhoneNumber(anyString())).thenReturn(true);
+        when(providerRepository.findByEmailOrPhoneNumberOrLicenseNumber(anyString(), anyString(), anyString()))
+                .thenReturn(List.of(existing("other@clinic.com", request.getPhoneNumber(), "MD999")));
         assertThrows(DataIntegrityViolationException.class, () -> providerService.registerProvider(request));
     }
 
     @Test
     void registerProvider_duplicateLicense() {
         ProviderCreateRequest request = getValidRequest();
-        when(providerRepository.existsByEmail(anyString())).thenReturn(false);
-        when(providerRepository.existsByPhoneNumber(anyString())).thenReturn(false);
-        when(providerRepository.existsByLicenseNumber(anyString())).thenReturn(true);
+        when(providerRepository.findByEmailOrPhoneNumberOrLicenseNumber(anyString(), anyString(), anyString()))
+                .thenReturn(List.of(existing("other@clinic.com", "+1999999999", request.getLicenseNumber())));
         assertThrows(DataIntegrityViolationException.class, () -> providerService.registerProvider(request));
     }
 
@@ -105,9 +133,7 @@ class ProviderServiceTest {
     @Test
     void registerProvider_passwordIsHashed() {
         ProviderCreateRequest request = getValidRequest();
-        when(providerRepository.existsByEmail(anyString())).thenReturn(false);
-        when(providerRepository.existsByPhoneNumber(anyString())).thenReturn(false);
-        when(providerRepository.existsByLicenseNumber(anyString())).thenReturn(false);
+        when(providerRepository.findByEmailOrPhoneNumberOrLicenseNumber(anyString(), anyString(), anyString())).thenReturn(List.of());
         when(passwordEncoder.encode(anyString())).thenReturn("hashed");
         Provider saved = Provider.builder()
                 .id(UUID.randomUUID())
@@ -119,4 +145,59 @@ class ProviderServiceTest {
         providerService.registerProvider(request);
         verify(passwordEncoder, times(1)).encode(eq(request.getPassword()));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void registerProvider_skipsLookupWhenKeysAreUnknown() {
+        ProviderCreateRequest request = getValidRequest();
+        when(registrationKeyFilter.mightContainProvider(any(), any(), any())).thenReturn(false);
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        when(providerRepository.save(any(Provider.class))).thenReturn(Provider.builder().id(UUID.randomUUID()).build());
+        providerService.registerProvider(request);
+        verify(providerRepository, never()).findByEmailOrPhoneNumberOrLicenseNumber(any(), any(), any());
+        verify(registrationKeyFilter).putProvider(request.getEmail(), request.getPhoneNumber(), request.getLicenseNumber());
+        verify(verificationEmailOutbox).enqueue(any(Provider.class));
+    }
+
+    @Test
+    void registerProvider_translatesConstraintViolationOnInsert() {
+        ProviderCreateRequest request = getValidRequest();
+        when(providerRepository.findByEmailOrPhoneNumberOrLicenseNumber(anyString(), anyString(), anyString())).thenReturn(List.of());
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        when(providerRepository.save(any(Provider.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_7 ON PUBLIC.PROVIDER(PHONE_NUMBER NULLS FIRST)\"")));
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class, () -> providerService.registerProvider(request));
+        assertEquals("Phone number already exists", ex.getMessage());
+    }
+
+    @Test
+    void loginRehashesAndPublishesInsideOneTransaction() {
+        Provider provider = Provider.builder().id(UUID.randomUUID()).email("john.doe@clinic.com").passwordHash("old").build();
+        when(providerRepository.findByEmail(provider.getEmail())).thenReturn(Optional.of(provider));
+        when(passwordEncoder.matches("secret", "old")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("new");
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        });
+        when(providerRepository.save(provider)).thenAnswer(invocation -> {
+            assertTrue(inTransaction.get());
+            return provider;
+        });
+        doAnswer(invocation -> {
+            assertTrue(inTransaction.get());
+            return null;
+        }).when(eventPublisher).publishEvent(any(ProviderUpdatedEvent.class));
+
+        assertTrue(providerService.loginProvider(new ProviderLoginRequest(provider.getEmail(), "secret")).isSuccess());
+
+        assertEquals("new", provider.getPasswordHash());
+        verify(providerRepository).save(provider);
+        verify(eventPublisher).publishEvent(any(ProviderUpdatedEvent.class));
+    }
+}
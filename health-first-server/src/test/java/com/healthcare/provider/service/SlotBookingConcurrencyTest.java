@@ -0,0 +1,161 @@
+package com.healthcare.provider.service;
+
+import com.healthcare.provider.dto.ProviderAvailabilityRequest;
+import com.healthcare.provider.dto.ProviderAvailabilityResponse;
+import com.healthcare.provider.dto.SlotBookingRequest;
+import com.healthcare.provider.entity.AppointmentSlot;
+import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.exception.SlotUnavailableException;
+import com.healthcare.provider.id.UuidV7;
+import com.healthcare.provider.repository.AppointmentSlotRepository;
+import com.healthcare.provider.repository.PatientRepository;
+import com.healthcare.provider.repository.ProviderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class SlotBookingConcurrencyTest {
+    private static final int BOOKERS = 200;
+
+    @Autowired
+    private AppointmentSlotService slotService;
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+
+    private List<UUID> slotIds;
+    private List<UUID> patientIds;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        Provider provider = providerRepository.save(Provider.builder()
+                .firstName("Hot")
+                .lastName("Slots")
+                .email("hot-" + suffix + "@clinic.com")
+                .phoneNumber("+1" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .specialization("Cardiology")
+                .licenseNumber("LIC" + suffix)
+                .yearsOfExperience(5)
+                .clinicAddress(Provider.ClinicAddress.builder()
+                        .street("1 Main St").city("Austin").state("TX").zip("73301").build())
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build());
+        // A Monday morning of 15-minute slots
+        ProviderAvailabilityResponse availability = availabilityService.createAvailability(provider.getId(), ProviderAvailabilityRequest.builder()
+                .date(LocalDate.of(2030, 1, 7))
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(12, 0))
+                .timezone("America/New_York")
+                .slotDuration(15)
+                .appointmentType("consultation")
+                .location(ProviderAvailabilityRequest.Location.builder().type("clinic").build())
+                .pricing(ProviderAvailabilityRequest.Pricing.builder().baseFee(new BigDecimal("100")).currency("USD").build())
+                .build());
+        slotIds = availability.getSlots().stream().map(ProviderAvailabilityResponse.Slot::getSlotId).toList();
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            patients.add(Patient.builder()
+                    .firstName("Booker")
+                    .lastName("Number" + i)
+                    .email("booker-" + i + "-" + suffix + "@mail.com")
+                    .phoneNumber("+2" + i + Math.abs(suffix.hashCode()))
+                    .passwordHash("hashed")
+                    .dateOfBirth(LocalDate.of(1990, 1, 1))
+                    .gender(Patient.Gender.OTHER)
+                    .address(Patient.Address.builder().street("2 Side St").city("Austin").state("TX").zip("73301").build())
+                    .isActive(true)
+                    .build());
+        }
+        patientIds = patientRepository.saveAll(patients).stream().map(Patient::getId).toList();
+    }
+
+    @Test
+    void exactlyOneBookerWinsAHotSlot() throws Exception {
+        UUID slotId = slotIds.get(0);
+        Map<UUID, Integer> winners = run(BOOKERS, i -> slotId, "one slot");
+
+        assertEquals(1, winners.get(slotId));
+        AppointmentSlot slot = slotService.getSlot(slotId);
+        assertEquals(AppointmentSlot.SlotStatus.BOOKED, slot.getStatus());
+        assertNotNull(slot.getBookingReference());
+        assertNotEquals(UuidV7.toBase32(slotId), slot.getBookingReference());
+        assertNull(slotService.getSlot(slotIds.get(1)).getBookingReference());
+    }
+
+    @Test
+    void everySlotOfTheMorningGoesToExactlyOneBooker() throws Exception {
+        // Every booker tries every slot, in a different order, so each slot sees all of them
+        int attempts = BOOKERS * slotIds.size();
+        Map<UUID, Integer> winners = run(attempts, i -> slotIds.get((i / BOOKERS + i % BOOKERS) % slotIds.size()), "whole morning");
+
+        assertEquals(slotIds.size(), winners.size());
+        winners.values().forEach(count -> assertEquals(1, count));
+        assertEquals(slotIds.size(), slotRepository.findAllById(slotIds).stream()
+                .filter(slot -> slot.getStatus() == AppointmentSlot.SlotStatus.BOOKED)
+                .count());
+    }
+
+    /** Fires the attempts from {@link #BOOKERS} threads released together; returns the number of wins per slot. */
+    private Map<UUID, Integer> run(int attempts, java.util.function.IntFunction<UUID> slotFor, String label) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(BOOKERS);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<UUID, Integer> winners = new ConcurrentHashMap<>();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(attempts);
+        for (int i = 0; i < attempts; i++) {
+            int attempt = i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                UUID slotId = slotFor.apply(attempt);
+                UUID patientId = patientIds.get(attempt % BOOKERS);
+                try {
+                    slotService.bookSlot(slotId, patientId, new SlotBookingRequest());
+                    winners.merge(slotId, 1, Integer::sum);
+                } catch (SlotUnavailableException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+        pool.shutdown();
+
+        int wins = winners.values().stream().mapToInt(Integer::intValue).sum();
+        log.info("[booking] {}: {} attempts from {} threads, {} booked, {} conflicts in {} s ({} attempts/s)",
+                label, attempts, BOOKERS, wins, conflicts.get(), String.format("%.2f", seconds), Math.round(attempts / seconds));
+        assertEquals(attempts, wins + conflicts.get());
+        return winners;
+    }
+}
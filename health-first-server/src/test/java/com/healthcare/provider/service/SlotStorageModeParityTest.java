@@ -0,0 +1,181 @@
+package com.healthcare.provider.service;
+
+import com.healthcare.provider.dto.ProviderAvailabilityRequest;
+import com.healthcare.provider.dto.ProviderAvailabilityResponse;
+import com.healthcare.provider.dto.SlotBookingRequest;
+import com.healthcare.provider.dto.SlotBookingResponse;
+import com.healthcare.provider.entity.Patient;
+import com.healthcare.provider.entity.Provider;
+import com.healthcare.provider.exception.SlotUnavailableException;
+import com.healthcare.provider.repository.AppointmentSlotRepository;
+import com.healthcare.provider.repository.PatientRepository;
+import com.healthcare.provider.repository.ProviderRepository;
+import com.healthcare.provider.scheduling.SlotStorageMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The same schedule, listed, streamed and booked with open slots stored and with open slots computed
+ * from the rule, must look the same to callers.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class SlotStorageModeParityTest {
+    // Three days across the 2030 spring-forward in New York
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 3, 9);
+    private static final LocalDate LAST_DAY = FIRST_DAY.plusDays(2);
+
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private AppointmentSlotService slotService;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+
+    private final Map<SlotStorageMode, Integer> storedBeforeBooking = new EnumMap<>(SlotStorageMode.class);
+
+    private record SlotShape(String startTime, String endTime, String status, String appointmentType) {
+    }
+
+    /** Everything a caller sees of one mode, minus ids, which differ because each run has its own availability. */
+    private record Observed(List<SlotShape> created, List<SlotShape> listed, SlotShape booked,
+                           List<SlotShape> listedAfterBooking, List<SlotShape> streamedAfterBooking, boolean rebookingRejected) {
+    }
+
+    @AfterEach
+    void tearDown() {
+        setMode(SlotStorageMode.MATERIALIZED);
+    }
+
+    @Test
+    void virtualModeListsAndBooksTheSameSlotsAsMaterialized() {
+        Observed materialized = observe(SlotStorageMode.MATERIALIZED);
+        Observed virtual = observe(SlotStorageMode.VIRTUAL);
+
+        assertEquals(materialized, virtual);
+        assertEquals(9, materialized.created().size());
+        assertEquals("booked", materialized.booked().status());
+        assertEquals(1, materialized.listedAfterBooking().stream().filter(slot -> "booked".equals(slot.status())).count());
+        assertTrue(materialized.rebookingRejected());
+        // Really two different storage paths
+        assertEquals(Map.of(SlotStorageMode.MATERIALIZED, 9, SlotStorageMode.VIRTUAL, 0), storedBeforeBooking);
+    }
+
+    private Observed observe(SlotStorageMode mode) {
+        setMode(mode);
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        Provider provider = provider(suffix);
+        Patient patient = patient(suffix);
+        ProviderAvailabilityResponse created = availabilityService.createAvailability(provider.getId(), ProviderAvailabilityRequest.builder()
+                .date(FIRST_DAY)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(12, 0))
+                .timezone("America/New_York")
+                .isRecurring(true)
+                .recurrencePattern("daily")
+                .recurrenceEndDate(LAST_DAY)
+                .slotDuration(45)
+                .breakDuration(15)
+                .appointmentType("consultation")
+                .location(ProviderAvailabilityRequest.Location.builder().type("clinic").build())
+                .pricing(ProviderAvailabilityRequest.Pricing.builder().baseFee(new BigDecimal("100")).currency("USD").build())
+                .build());
+        List<ProviderAvailabilityResponse.Slot> listed = listed(provider);
+        storedBeforeBooking.put(mode, slotRepository.findByProvider(provider).size());
+
+        ProviderAvailabilityResponse.Slot chosen = listed.get(7);
+        SlotBookingRequest booking = SlotBookingRequest.builder().availabilityId(created.getAvailabilityId()).build();
+        SlotBookingResponse booked = slotService.bookSlot(chosen.getSlotId(), patient.getId(), booking);
+        boolean rebookingRejected = isRejected(() -> slotService.bookSlot(chosen.getSlotId(), patient.getId(), booking));
+
+        List<ProviderAvailabilityResponse.Slot> streamed = new ArrayList<>();
+        availabilityService.streamAvailabilities(provider.getId(), FIRST_DAY, LAST_DAY, null,
+                availability -> streamed.addAll(availability.getSlots()));
+        return new Observed(
+                shapes(created.getSlots()),
+                shapes(listed),
+                new SlotShape(booked.getSlotStartTime().toString(), booked.getSlotEndTime().toString(), booked.getStatus(), chosen.getAppointmentType()),
+                shapes(listed(provider)),
+                shapes(streamed),
+                rebookingRejected);
+    }
+
+    private List<ProviderAvailabilityResponse.Slot> listed(Provider provider) {
+        return availabilityService.getAvailabilities(provider.getId(), FIRST_DAY, LAST_DAY, null, null, null).stream()
+                .flatMap(availability -> availability.getSlots().stream())
+                .toList();
+    }
+
+    private static boolean isRejected(Runnable booking) {
+        try {
+            booking.run();
+            return false;
+        } catch (SlotUnavailableException e) {
+            return true;
+        }
+    }
+
+    private static List<SlotShape> shapes(List<ProviderAvailabilityResponse.Slot> slots) {
+        return slots.stream()
+                .map(slot -> new SlotShape(slot.getStartTime(), slot.getEndTime(), slot.getStatus(), slot.getAppointmentType()))
+                .toList();
+    }
+
+    private void setMode(SlotStorageMode mode) {
+        ReflectionTestUtils.setField(availabilityService, "slotStorageMode", mode);
+        ReflectionTestUtils.setField(slotService, "slotStorageMode", mode);
+    }
+
+    private Provider provider(String suffix) {
+        return providerRepository.save(Provider.builder()
+                .firstName("Parity")
+                .lastName("Check")
+                .email("parity-" + suffix + "@clinic.com")
+                .phoneNumber("+1" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .specialization("Cardiology")
+                .licenseNumber("LIC" + suffix)
+                .yearsOfExperience(5)
+                .clinicAddress(Provider.ClinicAddress.builder()
+                        .street("1 Main St").city("Austin").state("TX").zip("73301").build())
+                .verificationStatus(Provider.VerificationStatus.VERIFIED)
+                .isActive(true)
+                .build());
+    }
+
+    private Patient patient(String suffix) {
+        return patientRepository.save(Patient.builder()
+                .firstName("Parity")
+                .lastName("Patient")
+                .email("parity-" + suffix + "@mail.com")
+                .phoneNumber("+2" + Math.abs(suffix.hashCode()))
+                .passwordHash("hashed")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .gender(Patient.Gender.OTHER)
+                .address(Patient.Address.builder().street("2 Side St").city("Austin").state("TX").zip("73301").build())
+                .isActive(true)
+                .build());
+    }
+}